@@ -0,0 +1,100 @@
+package pages;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.AdaptiveTimeouts;
+import utils.ConfigManager;
+import utils.DomSettle;
+import utils.DriverPool;
+import utils.JfrEvents;
+import utils.PerformanceMonitor;
+import utils.TraceRecorder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BasePage - Shared plumbing for page objects
+ * Replaces fixed post-action sleeps with a wait for the DOM to settle and
+ * gives every locator wait a timeout learned from earlier runs
+ */
+public abstract class BasePage {
+
+    protected final WebDriver driver;
+
+    private long lastSettleMillis;
+
+    protected BasePage(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Wait for a condition on a named locator, using and feeding its adaptive timeout
+     */
+    protected <T> T waitFor(String locatorName, ExpectedCondition<T> condition) {
+        String key = "locator." + getClass().getSimpleName() + "." + locatorName;
+        Duration fallback = Duration.ofSeconds(ConfigManager.EXPLICIT_WAIT);
+        Duration timeout = AdaptiveTimeouts.timeoutFor(key, fallback);
+
+        long start = System.nanoTime();
+        JfrEvents.WaitEvent event = JfrEvents.beginWait("locator", key);
+        try {
+            T result;
+            try {
+                result = new WebDriverWait(driver, timeout).until(condition);
+            } catch (TimeoutException e) {
+                if (!ConfigManager.ADAPTIVE_FALLBACK_RETRY || timeout.compareTo(fallback) >= 0) {
+                    // Fail at the learned timeout; the timeout sample lets it grow on slower environments
+                    AdaptiveTimeouts.recordTimeout(key, timeout);
+                    throw e;
+                }
+                // Opt-in: allow the rest of the static timeout before failing
+                try {
+                    result = new WebDriverWait(driver, fallback.minus(timeout)).until(condition);
+                } catch (TimeoutException retry) {
+                    AdaptiveTimeouts.recordTimeout(key, fallback);
+                    throw retry;
+                }
+            }
+            long nanos = System.nanoTime() - start;
+            AdaptiveTimeouts.record(key, TimeUnit.NANOSECONDS.toMillis(nanos));
+            PerformanceMonitor.recordLatency(key, nanos);
+            return result;
+        } finally {
+            TraceRecorder.recordWait("wait " + locatorName, start, System.nanoTime());
+            JfrEvents.commit(event);
+        }
+    }
+
+    /**
+     * Navigate and feed the page-load time into the learned page-load timeout; a load that hits the
+     * timeout counts as a sample at it, so a timeout that is too short can grow
+     */
+    protected void load(String url) {
+        long start = System.nanoTime();
+        try {
+            driver.get(url);
+        } catch (TimeoutException e) {
+            AdaptiveTimeouts.recordTimeout(DriverPool.PAGE_LOAD_KEY, driver.manage().timeouts().getPageLoadTimeout());
+            throw e;
+        }
+        AdaptiveTimeouts.record(DriverPool.PAGE_LOAD_KEY, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Wait until the UI has settled after an action and remember how long it took
+     */
+    protected long settle(String action) {
+        lastSettleMillis = DomSettle.waitForQuiet(driver, getClass().getSimpleName() + "." + action);
+        return lastSettleMillis;
+    }
+
+    /**
+     * Get how long the last action waited for the page to settle, in milliseconds
+     */
+    public long getLastSettleMillis() {
+        return lastSettleMillis;
+    }
+}
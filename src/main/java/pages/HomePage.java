@@ -2,23 +2,20 @@ package pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
+import utils.BrowserPerformanceCollector;
+import utils.PageReadiness;
+import utils.SmartLocator;
 
-public class HomePage {
-
-    private WebDriver driver;
-    private WebDriverWait wait;
+public class HomePage extends BasePage {
 
     // Navigation locators
-    private By joinNow = By.xpath("//button[contains(text(),'Join')] | //a[contains(text(),'Subscribe')] | //button[contains(text(),'Buy')]");
-    private By paymentLink = By.xpath("//a[contains(text(),'Payment')] | //a[contains(@href,'payment')]");
-    private By loginSignupLink = By.xpath("//a[contains(text(),'Login')] | //button[contains(text(),'Sign Up')]");
-    private By makePaymentButton = By.xpath("//button[contains(text(),'Make Payment')] | //a[contains(text(),'Make Payment')]");
+    private By joinNow = SmartLocator.xpathUnion("HomePage.joinNow", "//button[contains(text(),'Join')] | //a[contains(text(),'Subscribe')] | //button[contains(text(),'Buy')]");
+    private By paymentLink = SmartLocator.xpathUnion("HomePage.paymentLink", "//a[contains(text(),'Payment')] | //a[contains(@href,'payment')]");
+    private By loginSignupLink = SmartLocator.xpathUnion("HomePage.loginSignupLink", "//a[contains(text(),'Login')] | //button[contains(text(),'Sign Up')]");
+    private By makePaymentButton = SmartLocator.xpathUnion("HomePage.makePaymentButton", "//button[contains(text(),'Make Payment')] | //a[contains(text(),'Make Payment')]");
 
     public HomePage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        super(driver);
     }
 
     public void clickJoinNow() {
@@ -26,19 +23,16 @@ public class HomePage {
     }
 
     public void navigateToPayment() {
-        try {
-            driver.get("https://www.timesprime.com/payment/make-payment?origin=PAYMENT");
-            // Increased sleep to allow login/payment page to fully load before interactions
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        load("https://www.timesprime.com/payment/make-payment?origin=PAYMENT");
+        // Returns once the payment widgets are usable, so callers need no second readiness wait
+        new PaymentPage(driver).waitForPageLoad();
+        BrowserPerformanceCollector.collect(driver, "PaymentNavigation");
     }
 
     public void clickMakePayment() throws Exception {
         try {
             driver.findElement(makePaymentButton).click();
-            Thread.sleep(2000);
+            settle("clickMakePayment");
         } catch (Exception e) {
             throw new Exception("Failed to click Make Payment button: " + e.getMessage());
         }
@@ -49,7 +43,6 @@ public class HomePage {
     }
 
     public void waitForPageLoad() throws Exception {
-        // Increase default page load sleep to give the payment/login UI extra time
-        Thread.sleep(5000);
+        PageReadiness.waitUntilReady(driver, "HomePage", joinNow, paymentLink, loginSignupLink);
     }
 }
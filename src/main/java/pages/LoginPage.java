@@ -3,16 +3,14 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
-public class LoginPage {
-
-    private WebDriver driver;
+public class LoginPage extends BasePage {
 
     // Locator for mobile input and continue button - may need tuning for the live site
     private By mobileInput = By.xpath("//input[@type='tel' or @name='mobile' or contains(@placeholder,'Mobile')]");
     private By continueBtn = By.xpath("//button[contains(text(),'Continue') or contains(text(),'Proceed') or contains(text(),'Get OTP')]");
 
     public LoginPage(WebDriver driver) {
-        this.driver = driver;
+        super(driver);
     }
 
     public void enterMobile(String mobile) {
@@ -21,5 +19,6 @@ public class LoginPage {
 
     public void clickContinue() {
         driver.findElement(continueBtn).click();
+        settle("clickContinue");
     }
 }
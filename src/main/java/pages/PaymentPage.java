@@ -1,34 +1,42 @@
 package pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
+import utils.BrowserPerformanceCollector;
+import utils.ElementProbe;
+import utils.Log;
+import utils.PageContentScanner;
+import utils.PageReadiness;
+import utils.SmartLocator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-public class PaymentPage {
-
-    private WebDriver driver;
-    private WebDriverWait wait;
+public class PaymentPage extends BasePage {
 
     // Payment method locators
-    private By upiOption = By.xpath("//div[contains(text(),'UPI')] | //label[contains(text(),'UPI')] | //button[contains(text(),'UPI')]");
-    private By creditCardOption = By.xpath("//div[contains(text(),'Credit Card')] | //label[contains(text(),'Credit Card')] | //button[contains(text(),'Credit Card')]");
-    private By debitCardOption = By.xpath("//div[contains(text(),'Debit Card')] | //label[contains(text(),'Debit Card')] | //button[contains(text(),'Debit Card')]");
-    private By netBankingOption = By.xpath("//div[contains(text(),'Net Banking')] | //label[contains(text(),'Net Banking')] | //button[contains(text(),'Net Banking')]");
-    private By walletOption = By.xpath("//div[contains(text(),'Wallet')] | //label[contains(text(),'Wallet')] | //button[contains(text(),'Wallet')]");
-    private By emiOption = By.xpath("//div[contains(text(),'EMI')] | //label[contains(text(),'EMI')] | //button[contains(text(),'EMI')]");
+    private By upiOption = SmartLocator.xpathUnion("PaymentPage.upiOption", "//div[contains(text(),'UPI')] | //label[contains(text(),'UPI')] | //button[contains(text(),'UPI')]");
+    private By creditCardOption = SmartLocator.xpathUnion("PaymentPage.creditCardOption", "//div[contains(text(),'Credit Card')] | //label[contains(text(),'Credit Card')] | //button[contains(text(),'Credit Card')]");
+    private By debitCardOption = SmartLocator.xpathUnion("PaymentPage.debitCardOption", "//div[contains(text(),'Debit Card')] | //label[contains(text(),'Debit Card')] | //button[contains(text(),'Debit Card')]");
+    private By netBankingOption = SmartLocator.xpathUnion("PaymentPage.netBankingOption", "//div[contains(text(),'Net Banking')] | //label[contains(text(),'Net Banking')] | //button[contains(text(),'Net Banking')]");
+    private By walletOption = SmartLocator.xpathUnion("PaymentPage.walletOption", "//div[contains(text(),'Wallet')] | //label[contains(text(),'Wallet')] | //button[contains(text(),'Wallet')]");
+    private By emiOption = SmartLocator.xpathUnion("PaymentPage.emiOption", "//div[contains(text(),'EMI')] | //label[contains(text(),'EMI')] | //button[contains(text(),'EMI')]");
 
     // Common payment form fields - Using specific test IDs
     private By payButton = By.xpath("//*[@data-testid='msg_text']");
-    private By proceedButton = By.xpath("//button[contains(text(),'Proceed')] | //button[contains(text(),'Continue')]");
+    private By proceedButton = SmartLocator.xpathUnion("PaymentPage.proceedButton", "//button[contains(text(),'Proceed')] | //button[contains(text(),'Continue')]");
     private By amountField = By.xpath("//input[@placeholder*='Amount' or @placeholder*='amount' or @name='amount']");
     private By orderIdField = By.xpath("//input[@placeholder*='Order' or @name='orderId']");
 
     // Card payment fields - Using multiple locator strategies
-    private By cardNumberField = By.xpath("//*[@data-testid='edt_card_number'] | //*[@id='50000133'] | //*[@id='50000131'] | //*[@class='editText'] | //*[@configpath='Screen.AddCard|cardNumber|editTextConfig']");
+    private By cardNumberField = SmartLocator.xpathUnion("PaymentPage.cardNumberField", "//*[@data-testid='edt_card_number'] | //*[@id='50000133'] | //*[@id='50000131'] | //*[@class='editText'] | //*[@configpath='Screen.AddCard|cardNumber|editTextConfig']");
     private By cardHolderField = By.xpath("//input[@placeholder*='Cardholder' or @placeholder*='Name' or @name='cardHolder']");
     private By expiryField = By.xpath("//*[@data-testid='edt_expiry_date']");
     private By cvvField = By.xpath("//*[@data-testid='edt_cvv']");
@@ -37,31 +45,30 @@ public class PaymentPage {
     private By upiIdField = By.xpath("//input[@placeholder*='UPI' or @placeholder*='upi' or @name='upiId']");
 
     // Net Banking
-    private By bankSelectDropdown = By.xpath("//select[@name='bank'] | //div[contains(@class,'bank-select')]");
+    private By bankSelectDropdown = SmartLocator.xpathUnion("PaymentPage.bankSelectDropdown", "//select[@name='bank'] | //div[contains(@class,'bank-select')]");
 
     // OTP and verification
     private By otpField = By.xpath("//input[@placeholder*='OTP' or @name='otp']");
-    private By verifyOtpButton = By.xpath("//button[contains(text(),'Verify')] | //button[contains(text(),'Submit OTP')]");
+    private By verifyOtpButton = SmartLocator.xpathUnion("PaymentPage.verifyOtpButton", "//button[contains(text(),'Verify')] | //button[contains(text(),'Submit OTP')]");
 
     // Wallet/savings options
-    private By walletAmountDisplay = By.xpath("//div[contains(text(),'Balance')] | //span[contains(text(),'Wallet')]");
+    private By walletAmountDisplay = SmartLocator.xpathUnion("PaymentPage.walletAmountDisplay", "//div[contains(text(),'Balance')] | //span[contains(text(),'Wallet')]");
     private By saveCardCheckbox = By.xpath("//input[@type='checkbox' and (contains(@class,'save') or @name*='save')]");
 
     // Error/Success messages
-    private By errorMessage = By.xpath("//div[contains(@class,'error') or contains(@class,'alert-danger')] | //span[@class*='error']");
-    private By successMessage = By.xpath("//div[contains(@class,'success') or contains(@class,'alert-success')] | //span[@class*='success']");
+    private By errorMessage = SmartLocator.xpathUnion("PaymentPage.errorMessage", "//div[contains(@class,'error') or contains(@class,'alert-danger')] | //span[@class*='error']");
+    private By successMessage = SmartLocator.xpathUnion("PaymentPage.successMessage", "//div[contains(@class,'success') or contains(@class,'alert-success')] | //span[@class*='success']");
 
     public PaymentPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        super(driver);
     }
 
     // Payment Method Selection Methods
     public void selectUPI() throws Exception {
         try {
-            WebElement upi = wait.until(ExpectedConditions.elementToBeClickable(upiOption));
+            WebElement upi = waitFor("upiOption", ExpectedConditions.elementToBeClickable(upiOption));
             upi.click();
-            Thread.sleep(500);
+            settle("selectUPI");
         } catch (Exception e) {
             throw new Exception("Failed to select UPI payment method: " + e.getMessage());
         }
@@ -69,9 +76,9 @@ public class PaymentPage {
 
     public void selectCreditCard() throws Exception {
         try {
-            WebElement creditCard = wait.until(ExpectedConditions.elementToBeClickable(creditCardOption));
+            WebElement creditCard = waitFor("creditCardOption", ExpectedConditions.elementToBeClickable(creditCardOption));
             creditCard.click();
-            Thread.sleep(500);
+            settle("selectCreditCard");
         } catch (Exception e) {
             throw new Exception("Failed to select Credit Card payment method: " + e.getMessage());
         }
@@ -79,9 +86,9 @@ public class PaymentPage {
 
     public void selectDebitCard() throws Exception {
         try {
-            WebElement debitCard = wait.until(ExpectedConditions.elementToBeClickable(debitCardOption));
+            WebElement debitCard = waitFor("debitCardOption", ExpectedConditions.elementToBeClickable(debitCardOption));
             debitCard.click();
-            Thread.sleep(500);
+            settle("selectDebitCard");
         } catch (Exception e) {
             throw new Exception("Failed to select Debit Card payment method: " + e.getMessage());
         }
@@ -89,9 +96,9 @@ public class PaymentPage {
 
     public void selectNetBanking() throws Exception {
         try {
-            WebElement netBanking = wait.until(ExpectedConditions.elementToBeClickable(netBankingOption));
+            WebElement netBanking = waitFor("netBankingOption", ExpectedConditions.elementToBeClickable(netBankingOption));
             netBanking.click();
-            Thread.sleep(500);
+            settle("selectNetBanking");
         } catch (Exception e) {
             throw new Exception("Failed to select Net Banking payment method: " + e.getMessage());
         }
@@ -99,9 +106,9 @@ public class PaymentPage {
 
     public void selectWallet() throws Exception {
         try {
-            WebElement wallet = wait.until(ExpectedConditions.elementToBeClickable(walletOption));
+            WebElement wallet = waitFor("walletOption", ExpectedConditions.elementToBeClickable(walletOption));
             wallet.click();
-            Thread.sleep(500);
+            settle("selectWallet");
         } catch (Exception e) {
             throw new Exception("Failed to select Wallet payment method: " + e.getMessage());
         }
@@ -109,9 +116,9 @@ public class PaymentPage {
 
     public void selectEMI() throws Exception {
         try {
-            WebElement emi = wait.until(ExpectedConditions.elementToBeClickable(emiOption));
+            WebElement emi = waitFor("emiOption", ExpectedConditions.elementToBeClickable(emiOption));
             emi.click();
-            Thread.sleep(500);
+            settle("selectEMI");
         } catch (Exception e) {
             throw new Exception("Failed to select EMI payment method: " + e.getMessage());
         }
@@ -120,10 +127,10 @@ public class PaymentPage {
     // UPI Payment Flow
     public void enterUPIId(String upiId) throws Exception {
         try {
-            WebElement upiInput = wait.until(ExpectedConditions.visibilityOfElementLocated(upiIdField));
+            WebElement upiInput = waitFor("upiIdField", ExpectedConditions.visibilityOfElementLocated(upiIdField));
             upiInput.clear();
             upiInput.sendKeys(upiId);
-            Thread.sleep(300);
+            settle("enterUPIId");
         } catch (Exception e) {
             throw new Exception("Failed to enter UPI ID: " + e.getMessage());
         }
@@ -132,9 +139,9 @@ public class PaymentPage {
     // Card Payment Flow
     public void clickCardNumberField() throws Exception {
         try {
-            WebElement cardInput = wait.until(ExpectedConditions.elementToBeClickable(cardNumberField));
+            WebElement cardInput = waitFor("cardNumberField", ExpectedConditions.elementToBeClickable(cardNumberField));
             cardInput.click();
-            Thread.sleep(500);
+            settle("clickCardNumberField");
         } catch (Exception e) {
             throw new Exception("Failed to click card number field: " + e.getMessage());
         }
@@ -142,10 +149,10 @@ public class PaymentPage {
 
     public void enterCardNumber(String cardNumber) throws Exception {
         try {
-            WebElement cardInput = wait.until(ExpectedConditions.visibilityOfElementLocated(cardNumberField));
+            WebElement cardInput = waitFor("cardNumberField", ExpectedConditions.visibilityOfElementLocated(cardNumberField));
             // Don't clear - field might not support it, just send keys
             cardInput.sendKeys(cardNumber);
-            Thread.sleep(300);
+            settle("enterCardNumber");
         } catch (Exception e) {
             throw new Exception("Failed to enter card number: " + e.getMessage());
         }
@@ -156,7 +163,7 @@ public class PaymentPage {
             WebElement holderInput = driver.findElement(cardHolderField);
             holderInput.clear();
             holderInput.sendKeys(holderName);
-            Thread.sleep(300);
+            settle("enterCardHolderName");
         } catch (Exception e) {
             throw new Exception("Failed to enter cardholder name: " + e.getMessage());
         }
@@ -167,7 +174,7 @@ public class PaymentPage {
             WebElement expiryInput = driver.findElement(expiryField);
             expiryInput.clear();
             expiryInput.sendKeys(expiry);
-            Thread.sleep(300);
+            settle("enterExpiry");
         } catch (Exception e) {
             throw new Exception("Failed to enter expiry date: " + e.getMessage());
         }
@@ -178,18 +185,116 @@ public class PaymentPage {
             WebElement cvvInput = driver.findElement(cvvField);
             cvvInput.clear();
             cvvInput.sendKeys(cvv);
-            Thread.sleep(300);
+            settle("enterCVV");
         } catch (Exception e) {
             throw new Exception("Failed to enter CVV: " + e.getMessage());
         }
     }
 
+    // Bulk Form Fill
+    public enum FormField {
+        CARD_NUMBER("cardNumberField"),
+        CARD_HOLDER("cardHolderField"),
+        EXPIRY("expiryField"),
+        CVV("cvvField"),
+        UPI_ID("upiIdField"),
+        OTP("otpField"),
+        AMOUNT("amountField");
+
+        private final String locatorName;
+
+        FormField(String locatorName) {
+            this.locatorName = locatorName;
+        }
+    }
+
+    // Sets every field through the native value setter (so React-style inputs see the change),
+    // fires input/change/blur, and reports per field: ok, missing, unsupported or mismatch
+    private static final String FILL_SCRIPT = ElementProbe.FIND_FUNCTION +
+        "var fields = arguments[0], results = [];" +
+        "function digits(v) { return String(v).replace(/[^0-9a-zA-Z@.]/g, ''); }" +
+        "for (var i = 0; i < fields.length; i++) {" +
+        "  var alternatives = fields[i][0], value = fields[i][1], el = null;" +
+        "  for (var a = 0; a < alternatives.length && !el; a++) {" +
+        "    try { el = find(alternatives[a][0], alternatives[a][1])[0] || null; } catch (e) { el = null; }" +
+        "  }" +
+        "  if (!el) { results.push('missing'); continue; }" +
+        "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype" +
+        "    : el instanceof HTMLInputElement ? HTMLInputElement.prototype : null;" +
+        "  if (!proto || el.disabled || el.readOnly) { results.push('unsupported'); continue; }" +
+        "  el.focus();" +
+        "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);" +
+        "  el.dispatchEvent(new Event('input', {bubbles: true}));" +
+        "  el.dispatchEvent(new Event('change', {bubbles: true}));" +
+        "  el.blur();" +
+        "  results.push(digits(el.value) === digits(value) ? 'ok' : 'mismatch');" +
+        "}" +
+        "return results;";
+
+    private By locatorFor(FormField field) {
+        switch (field) {
+            case CARD_NUMBER: return cardNumberField;
+            case CARD_HOLDER: return cardHolderField;
+            case EXPIRY: return expiryField;
+            case CVV: return cvvField;
+            case UPI_ID: return upiIdField;
+            case OTP: return otpField;
+            case AMOUNT: return amountField;
+            default: throw new IllegalArgumentException("Unknown form field: " + field);
+        }
+    }
+
+    public void fillForm(Map<FormField, String> values) throws Exception {
+        fillForm(values, EnumSet.noneOf(FormField.class));
+    }
+
+    // Fill all fields in one script call; fields in keystrokeFields (validation that needs real
+    // key events) and fields the script could not set fall back to sendKeys
+    public void fillForm(Map<FormField, String> values, Set<FormField> keystrokeFields) throws Exception {
+        try {
+            List<FormField> scripted = new ArrayList<>();
+            List<List<Object>> payload = new ArrayList<>();
+            Set<FormField> typed = EnumSet.noneOf(FormField.class);
+
+            for (Map.Entry<FormField, String> entry : values.entrySet()) {
+                List<List<String>> alternatives = ElementProbe.scriptAlternatives(locatorFor(entry.getKey()));
+                if (keystrokeFields.contains(entry.getKey()) || alternatives == null) {
+                    typed.add(entry.getKey());
+                } else {
+                    scripted.add(entry.getKey());
+                    payload.add(Arrays.asList(alternatives, entry.getValue()));
+                }
+            }
+
+            if (!payload.isEmpty()) {
+                List<?> results = (List<?>) ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, payload);
+                for (int i = 0; i < scripted.size(); i++) {
+                    if (!"ok".equals(results.get(i))) {
+                        typed.add(scripted.get(i));
+                    }
+                }
+            }
+
+            for (FormField field : typed) {
+                WebElement input = waitFor(field.locatorName, ExpectedConditions.visibilityOfElementLocated(locatorFor(field)));
+                input.clear();
+                input.sendKeys(values.get(field));
+            }
+            if (!typed.isEmpty()) {
+                Log.detail("⌨️  Typed with keystrokes: " + typed);
+            }
+            settle("fillForm");
+        } catch (Exception e) {
+            throw new Exception("Failed to fill payment form: " + e.getMessage());
+        }
+    }
+
     // Common Payment Actions
     public void clickPay() throws Exception {
         try {
-            WebElement pay = wait.until(ExpectedConditions.elementToBeClickable(payButton));
+            WebElement pay = waitFor("payButton", ExpectedConditions.elementToBeClickable(payButton));
             pay.click();
-            Thread.sleep(1000);
+            settle("clickPay");
         } catch (Exception e) {
             throw new Exception("Failed to click Pay button: " + e.getMessage());
         }
@@ -197,9 +302,9 @@ public class PaymentPage {
 
     public void clickProceed() throws Exception {
         try {
-            WebElement proceed = wait.until(ExpectedConditions.elementToBeClickable(proceedButton));
+            WebElement proceed = waitFor("proceedButton", ExpectedConditions.elementToBeClickable(proceedButton));
             proceed.click();
-            Thread.sleep(1000);
+            settle("clickProceed");
         } catch (Exception e) {
             throw new Exception("Failed to click Proceed button: " + e.getMessage());
         }
@@ -210,7 +315,7 @@ public class PaymentPage {
             WebElement amountInput = driver.findElement(amountField);
             amountInput.clear();
             amountInput.sendKeys(amount);
-            Thread.sleep(300);
+            settle("enterAmount");
         } catch (Exception e) {
             throw new Exception("Failed to enter amount: " + e.getMessage());
         }
@@ -219,10 +324,10 @@ public class PaymentPage {
     // OTP Verification
     public void enterOTP(String otp) throws Exception {
         try {
-            WebElement otpInput = wait.until(ExpectedConditions.visibilityOfElementLocated(otpField));
+            WebElement otpInput = waitFor("otpField", ExpectedConditions.visibilityOfElementLocated(otpField));
             otpInput.clear();
             otpInput.sendKeys(otp);
-            Thread.sleep(300);
+            settle("enterOTP");
         } catch (Exception e) {
             throw new Exception("Failed to enter OTP: " + e.getMessage());
         }
@@ -230,9 +335,9 @@ public class PaymentPage {
 
     public void verifyOTP() throws Exception {
         try {
-            WebElement verifyBtn = wait.until(ExpectedConditions.elementToBeClickable(verifyOtpButton));
+            WebElement verifyBtn = waitFor("verifyOtpButton", ExpectedConditions.elementToBeClickable(verifyOtpButton));
             verifyBtn.click();
-            Thread.sleep(2000);
+            settle("verifyOTP");
         } catch (Exception e) {
             throw new Exception("Failed to verify OTP: " + e.getMessage());
         }
@@ -241,17 +346,31 @@ public class PaymentPage {
     // Verification Methods
     public boolean isPaymentMethodsDisplayed() {
         try {
-            return driver.findElements(upiOption).size() > 0 ||
-                   driver.findElements(creditCardOption).size() > 0 ||
-                   driver.findElements(debitCardOption).size() > 0;
+            Map<String, By> methods = new LinkedHashMap<>();
+            methods.put("UPI", upiOption);
+            methods.put("Credit Card", creditCardOption);
+            methods.put("Debit Card", debitCardOption);
+            return ElementProbe.anyPresent(driver, methods);
         } catch (Exception e) {
             return false;
         }
     }
 
+    // Presence/visibility/enabled state of every payment method option, in one round trip
+    public Map<String, ElementProbe.ProbeResult> getPaymentMethodAvailability() {
+        Map<String, By> methods = new LinkedHashMap<>();
+        methods.put("UPI", upiOption);
+        methods.put("Credit Card", creditCardOption);
+        methods.put("Debit Card", debitCardOption);
+        methods.put("Net Banking", netBankingOption);
+        methods.put("Wallet", walletOption);
+        methods.put("EMI", emiOption);
+        return ElementProbe.probe(driver, methods);
+    }
+
     public boolean isOTPScreenDisplayed() {
         try {
-            return driver.getPageSource().toLowerCase().contains("otp") ||
+            return PageContentScanner.containsAny(driver, PageContentScanner.Scope.VISIBLE_TEXT, "otp") ||
                    driver.getCurrentUrl().toLowerCase().contains("otp") ||
                    driver.findElements(otpField).size() > 0;
         } catch (Exception e) {
@@ -261,8 +380,9 @@ public class PaymentPage {
 
     public boolean isPaymentSuccessful() {
         try {
-            return driver.getPageSource().toLowerCase().contains("success") ||
-                   driver.getPageSource().toLowerCase().contains("completed") ||
+            // Both keywords in one in-browser pass over the visible text
+            return PageContentScanner.containsAny(driver, PageContentScanner.Scope.VISIBLE_TEXT,
+                       "success", "completed") ||
                    driver.findElements(successMessage).size() > 0;
         } catch (Exception e) {
             return false;
@@ -302,11 +422,12 @@ public class PaymentPage {
         try {
             WebElement bankDropdown = driver.findElement(bankSelectDropdown);
             bankDropdown.click();
-            Thread.sleep(500);
-            By bankOption = By.xpath("//option[contains(text(),'" + bankName + "')] | //div[contains(text(),'" + bankName + "')]");
-            WebElement bank = wait.until(ExpectedConditions.elementToBeClickable(bankOption));
+            settle("selectBank");
+            By bankOption = SmartLocator.xpathUnion("PaymentPage.bankOption",
+                "//option[contains(text(),'" + bankName + "')] | //div[contains(text(),'" + bankName + "')]");
+            WebElement bank = waitFor("bankOption", ExpectedConditions.elementToBeClickable(bankOption));
             bank.click();
-            Thread.sleep(500);
+            settle("selectBank");
         } catch (Exception e) {
             throw new Exception("Failed to select bank: " + e.getMessage());
         }
@@ -320,8 +441,16 @@ public class PaymentPage {
         return driver.getCurrentUrl();
     }
 
-    public void waitForPageLoad() throws Exception {
-        // Increase wait when payment page opens (give login/OTP UI time to appear)
-        Thread.sleep(5000);
+    public void open(String url) throws Exception {
+        load(url);
+        waitForPageLoad();
+        BrowserPerformanceCollector.collect(driver, "PaymentPage");
+    }
+
+    public void waitForPageLoad() {
+        // Ready once any payment method or the card form can be interacted with
+        PageReadiness.waitUntilReady(driver, "PaymentPage",
+            upiOption, creditCardOption, debitCardOption, netBankingOption, walletOption, emiOption,
+            cardNumberField, payButton);
     }
 }
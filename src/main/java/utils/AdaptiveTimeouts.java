@@ -0,0 +1,171 @@
+package utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AdaptiveTimeouts - Learns wait timeouts from readiness latencies observed in earlier runs
+ * Keeps the most recent samples per page/locator in a local file and derives each timeout
+ * from the observed p99 plus headroom, falling back to the static ConfigManager value until
+ * enough history exists. History is kept per environment, and a wait that times out counts as a
+ * sample at its timeout, so a timeout learned in a faster environment grows instead of staying too short
+ */
+public class AdaptiveTimeouts {
+
+    private static final int WINDOW_SIZE = 200;
+    private static final File HISTORY_FILE = new File(ConfigManager.PERF_HISTORY_DIR, "timeouts.properties");
+
+    private static final Map<String, SampleWindow> history = new ConcurrentHashMap<>();
+    private static volatile boolean dirty = false;
+
+    static {
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(AdaptiveTimeouts::save, "adaptive-timeouts-save"));
+    }
+
+    /**
+     * Fixed-size window of the most recent latency samples
+     */
+    private static class SampleWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int size;
+        private int next;
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % WINDOW_SIZE;
+            if (size < WINDOW_SIZE) size++;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long percentile(double percentile) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+
+        synchronized String serialize() {
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                // oldest first, so the window order survives a reload
+                int index = (next - size + i + WINDOW_SIZE) % WINDOW_SIZE;
+                if (i > 0) out.append(',');
+                out.append(samples[index]);
+            }
+            return out.toString();
+        }
+    }
+
+    /**
+     * Record how long a page or locator took to become ready
+     */
+    public static void record(String key, long millis) {
+        history.computeIfAbsent(historyKey(key), k -> new SampleWindow()).add(millis);
+        dirty = true;
+    }
+
+    /**
+     * Record a wait that gave up after timeout (the real latency is at least that long)
+     */
+    public static void recordTimeout(String key, Duration timeout) {
+        record(key, timeout.toMillis());
+    }
+
+    private static String historyKey(String key) {
+        return ConfigManager.ENVIRONMENT.toLowerCase() + "." + key;
+    }
+
+    /**
+     * Get the timeout for a page or locator wait, learned from history when enough samples exist
+     */
+    public static Duration timeoutFor(String key, Duration fallback) {
+        if (!ConfigManager.ADAPTIVE_TIMEOUTS) return fallback;
+
+        SampleWindow window = history.get(historyKey(key));
+        if (window == null || window.size() < ConfigManager.ADAPTIVE_MIN_SAMPLES) return fallback;
+
+        long learned = (long) (window.percentile(99) * ConfigManager.ADAPTIVE_HEADROOM);
+        long min = ConfigManager.ADAPTIVE_MIN_TIMEOUT_MS;
+        long max = (long) (fallback.toMillis() * ConfigManager.ADAPTIVE_MAX_FACTOR);
+        return Duration.ofMillis(Math.max(min, Math.min(max, learned)));
+    }
+
+    /**
+     * Get a recorded percentile for a key in milliseconds, or -1 without history
+     */
+    public static long getPercentile(String key, double percentile) {
+        SampleWindow window = history.get(historyKey(key));
+        return window == null || window.size() == 0 ? -1 : window.percentile(percentile);
+    }
+
+    /**
+     * Load saved history from disk
+     */
+    private static void load() {
+        if (!HISTORY_FILE.exists()) return;
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(HISTORY_FILE)) {
+            properties.load(in);
+        } catch (IOException e) {
+            Log.info("⚠️  Could not read timeout history: " + e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            SampleWindow window = new SampleWindow();
+            for (String value : properties.getProperty(key).split(",")) {
+                try {
+                    window.add(Long.parseLong(value.trim()));
+                } catch (NumberFormatException e) {
+                    // skip corrupt sample
+                }
+            }
+            history.put(key, window);
+        }
+    }
+
+    /**
+     * Save history to disk so the next run starts with learned timeouts
+     */
+    public static synchronized void save() {
+        if (!dirty) return;
+        Properties properties = new Properties();
+        for (Map.Entry<String, SampleWindow> entry : history.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().serialize());
+        }
+        HISTORY_FILE.getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(HISTORY_FILE)) {
+            properties.store(out, "Time-to-ready samples in ms per <environment>.<key> (most recent " + WINDOW_SIZE + ")");
+            dirty = false;
+        } catch (IOException e) {
+            Log.info("⚠️  Could not save timeout history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get learned timeouts as report
+     */
+    public static String getTimeoutReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("\n=== Adaptive Timeouts ===\n");
+        for (Map.Entry<String, SampleWindow> entry : history.entrySet()) {
+            SampleWindow window = entry.getValue();
+            report.append(String.format("%-50s: %3d samples | p50 %6d ms | p99 %6d ms%n",
+                entry.getKey(), window.size(), window.percentile(50), window.percentile(99)));
+        }
+        report.append("=========================\n");
+        return report.toString();
+    }
+}
@@ -1,26 +1,163 @@
 package utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class BaseTest {
 
-    public WebDriver driver;
+    // Each worker thread owns its own browser and page objects so tests can run in parallel
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<Map<Class<?>, Object>> pages = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<NetworkRecorder> networkRecorder = new ThreadLocal<>();
+    private static final ThreadLocal<ProcessSampler.Sampling> processSampling = new ThreadLocal<>();
+    private static final ThreadLocal<ScreenRecorder> screenRecorder = new ThreadLocal<>();
+    private static final ThreadLocal<Long> testStart = new ThreadLocal<>();
+    private static final ThreadLocal<JfrEvents.TestEvent> testEvent = new ThreadLocal<>();
 
     @BeforeMethod
-    public void setUp() {
-        WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
+    public void setUp(ITestResult result) {
+        // Tag metrics recorded on this thread with the running test
+        String testName = getClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        TestContext.begin(testName, testName + Arrays.deepToString(result.getParameters()));
+        testStart.set(PerformanceMonitor.start());
+        testEvent.set(JfrEvents.beginTest());
+
+        // Lease a warm browser from the pool instead of cold-starting Chrome per test
+        TraceRecorder.Span lease = TraceRecorder.span("DriverPool.lease", "driver");
+        try {
+            driver.set(DriverPool.lease());
+        } finally {
+            lease.close();
+        }
+
+        if (ConfigManager.NETWORK_CAPTURE) {
+            TestContext context = TestContext.get();
+            networkRecorder.set(NetworkRecorder.start(driver.get(), context.getTestName() + "-" + context.getTestId()));
+        }
+        if (ConfigManager.SCREEN_RECORDING) {
+            TestContext context = TestContext.get();
+            screenRecorder.set(ScreenRecorder.start(driver.get(), context.getTestName() + "-" + context.getTestId()));
+        }
+        if (ConfigManager.PROCESS_SAMPLING) {
+            TestContext context = TestContext.get();
+            processSampling.set(ProcessSampler.start(driver.get(), context.getTestName() + "-" + context.getTestId()));
+        }
+    }
+
+    // alwaysRun: also undo a setUp that threw, so its test context, recorders and leased browser never leak
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        long end = System.nanoTime();
+        WebDriver current = driver.get();
+        captureEvidence(result, current);
+        // Stop capturing before the session is reset for the next lease
+        NetworkRecorder recorder = networkRecorder.get();
+        networkRecorder.remove();
+        if (recorder != null) {
+            recorder.close();
+        }
+        // Close sampling first so a session over the memory threshold is recycled on release
+        ProcessSampler.Sampling sampling = processSampling.get();
+        processSampling.remove();
+        if (sampling != null) {
+            sampling.close();
+        }
+        pages.get().clear();
+        driver.remove();
+        if (current != null) {
+            DriverPool.release(current);
+        }
+        Long start = testStart.get();
+        testStart.remove();
+        // No browser means setUp failed before the test could run, so there is no duration to record
+        if (start != null && current != null) {
+            // Duration histogram compared against the baseline at suite end; per test it gets one sample
+            // per run, below PERF_REGRESSION_MIN_SAMPLES, so only the duration across all tests is gated
+            PerformanceMonitor.recordLatency("test.duration", end - start);
+            traceTest(result, start, end);
+        }
+        commitTestEvent(result);
+        Log.endTest();
+        TestContext.end();
+    }
+
+    /**
+     * Take the configured screenshot and keep the screen recording of a failed test; recordings of passing tests are discarded
+     */
+    private static void captureEvidence(ITestResult result, WebDriver current) {
+        ScreenRecorder recorder = screenRecorder.get();
+        screenRecorder.remove();
+        if (current != null) {
+            String name = TestContext.currentTestName();
+            if (result.getStatus() == ITestResult.FAILURE) {
+                if (ConfigManager.SCREENSHOT_ON_FAILURE) {
+                    // Also saves the recording (ScreenRecorder.saveFor), before the screenshot adds frames
+                    ScreenshotUtil.captureScreenshotOnFailure(current, name);
+                } else if (recorder != null) {
+                    recorder.save();
+                }
+            } else if (result.isSuccess() && ConfigManager.SCREENSHOT_ON_SUCCESS) {
+                ScreenshotUtil.captureScreenshotOnSuccess(current, name);
+            }
+        }
+        if (recorder != null) {
+            recorder.close();
+        }
+    }
+
+    private static void commitTestEvent(ITestResult result) {
+        JfrEvents.TestEvent event = testEvent.get();
+        testEvent.remove();
+        if (event == null) return;
+        TestContext context = TestContext.get();
+        event.testId = context.getTestId();
+        event.attempt = context.getAttempt();
+        event.status = status(result);
+        JfrEvents.commit(event);
+    }
+
+    private static String status(ITestResult result) {
+        return result.isSuccess() ? "PASS" : result.getStatus() == ITestResult.SKIP ? "SKIP" : "FAIL";
+    }
+
+    private static void traceTest(ITestResult result, long start, long end) {
+        if (!TraceRecorder.isEnabled()) return;
+        TraceRecorder.flushThread();
+        TestContext context = TestContext.get();
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("id", context.getTestId());
+        args.put("attempt", context.getAttempt());
+        args.put("status", status(result));
+        TraceRecorder.complete(context.getTestName(), "test", start, end, args);
+    }
+
+    /**
+     * Get the browser leased to the current test thread
+     */
+    public static WebDriver getDriver() {
+        return driver.get();
     }
 
-    @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+    /**
+     * Get a page object bound to the current thread's browser, created on first use
+     */
+    protected <T> T page(Class<T> pageType) {
+        Object page = pages.get().get(pageType);
+        if (page == null) {
+            try {
+                page = pageType.getConstructor(WebDriver.class).newInstance(getDriver());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create page object " + pageType.getSimpleName(), e);
+            }
+            pages.get().put(pageType, page);
         }
+        return pageType.cast(page);
     }
 }
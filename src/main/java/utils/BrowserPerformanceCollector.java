@@ -0,0 +1,279 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BrowserPerformanceCollector - Captures how fast a page loaded as measured inside the browser
+ * Reads Navigation Timing, Resource Timing, paint, LCP, CLS and long-task entries after a page
+ * load, records the timings into PerformanceMonitor and appends them to a history file so
+ * page performance can be aggregated across runs
+ */
+public class BrowserPerformanceCollector {
+
+    private static final File HISTORY_FILE = new File(ConfigManager.PERF_HISTORY_DIR, "browser-performance.jsonl");
+    private static final int SLOWEST_RESOURCES = 5;
+
+    // Page loads collected by this run
+    private static final AtomicInteger collected = new AtomicInteger();
+
+    // Metrics measured in milliseconds (the rest are counts, bytes or scores)
+    private static final List<String> TIMING_METRICS = Arrays.asList(
+        "dns", "connect", "ttfb", "response", "domInteractive", "domContentLoaded", "load",
+        "firstPaint", "firstContentfulPaint", "lcp", "longTaskTime");
+
+    // Buffered observers deliver entries recorded before they were created, in the next task
+    private static final String COLLECT_SCRIPT =
+        "var done = arguments[arguments.length - 1];" +
+        "var m = {}, result = {metrics: m, resources: []};" +
+        "var nav = performance.getEntriesByType('navigation')[0];" +
+        "if (nav) {" +
+        "  m.dns = nav.domainLookupEnd - nav.domainLookupStart;" +
+        "  m.connect = nav.connectEnd - nav.connectStart;" +
+        "  m.ttfb = nav.responseStart;" +
+        "  m.response = nav.responseEnd - nav.responseStart;" +
+        "  m.domInteractive = nav.domInteractive;" +
+        "  m.domContentLoaded = nav.domContentLoadedEventEnd;" +
+        "  m.load = nav.loadEventEnd;" +
+        "  m.documentBytes = nav.transferSize || 0;" +
+        "}" +
+        "performance.getEntriesByType('paint').forEach(function (p) {" +
+        "  if (p.name === 'first-paint') m.firstPaint = p.startTime;" +
+        "  if (p.name === 'first-contentful-paint') m.firstContentfulPaint = p.startTime;" +
+        "});" +
+        "var resources = performance.getEntriesByType('resource'), bytes = 0;" +
+        "resources.forEach(function (r) { bytes += r.transferSize || 0; });" +
+        "m.resourceCount = resources.length;" +
+        "m.resourceBytes = bytes;" +
+        "result.resources = resources.slice().sort(function (a, b) { return b.duration - a.duration; })" +
+        "  .slice(0, arguments[0]).map(function (r) {" +
+        "    return {name: r.name, type: r.initiatorType, duration: r.duration, bytes: r.transferSize || 0};" +
+        "  });" +
+        "var lcp = 0, cls = 0, longTasks = 0, longTaskTime = 0, observers = [];" +
+        "function observe(type, handle) {" +
+        "  try {" +
+        "    var observer = new PerformanceObserver(function (list) { list.getEntries().forEach(handle); });" +
+        "    observer.observe({type: type, buffered: true});" +
+        "    observers.push([observer, handle]);" +
+        "  } catch (e) {}" +
+        "}" +
+        "observe('largest-contentful-paint', function (e) { lcp = Math.max(lcp, e.renderTime || e.loadTime || e.startTime); });" +
+        "observe('layout-shift', function (e) { if (!e.hadRecentInput) cls += e.value; });" +
+        "observe('longtask', function (e) { longTasks++; longTaskTime += e.duration; });" +
+        "setTimeout(function () {" +
+        "  observers.forEach(function (o) { o[0].takeRecords().forEach(o[1]); o[0].disconnect(); });" +
+        "  if (lcp > 0) m.lcp = lcp;" +
+        "  m.cls = cls;" +
+        "  m.longTasks = longTasks;" +
+        "  m.longTaskTime = longTaskTime;" +
+        "  done(result);" +
+        "}, 50);";
+
+    /**
+     * Browser-side performance of one page load
+     */
+    public static class PagePerformance {
+        private final String pageName;
+        private final String url;
+        private final long timestamp;
+        private final Map<String, Double> metrics;
+        private final List<Map<String, Object>> slowestResources;
+
+        PagePerformance(String pageName, String url, long timestamp,
+                        Map<String, Double> metrics, List<Map<String, Object>> slowestResources) {
+            this.pageName = pageName;
+            this.url = url;
+            this.timestamp = timestamp;
+            this.metrics = Collections.unmodifiableMap(metrics);
+            this.slowestResources = Collections.unmodifiableList(slowestResources);
+        }
+
+        public String getPageName() {
+            return pageName;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Get all metrics (timings in ms, counts, bytes, CLS score) by name
+         */
+        public Map<String, Double> getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Get a metric, or -1 if the browser did not report it
+         */
+        public double getMetric(String name) {
+            Double value = metrics.get(name);
+            return value != null ? value : -1;
+        }
+
+        public List<Map<String, Object>> getSlowestResources() {
+            return slowestResources;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("page", pageName);
+            record.put("environment", ConfigManager.ENVIRONMENT);
+            record.put("url", url);
+            record.put("timestamp", timestamp);
+            record.put("metrics", metrics);
+            record.put("slowestResources", slowestResources);
+            return record;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: TTFB %.0f ms | DCL %.0f ms | load %.0f ms | FCP %.0f ms | LCP %.0f ms | CLS %.3f | long tasks %.0f",
+                pageName, getMetric("ttfb"), getMetric("domContentLoaded"), getMetric("load"),
+                getMetric("firstContentfulPaint"), getMetric("lcp"), getMetric("cls"), getMetric("longTasks"));
+        }
+    }
+
+    /**
+     * Collect the performance of the page currently loaded, record it and append it to the history;
+     * returns null when the browser cannot provide the entries
+     */
+    public static PagePerformance collect(WebDriver driver, String pageName) {
+        PagePerformance performance;
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeAsyncScript(COLLECT_SCRIPT, SLOWEST_RESOURCES);
+            performance = toPagePerformance(pageName, driver.getCurrentUrl(), (Map<?, ?>) raw);
+        } catch (WebDriverException | ClassCastException e) {
+            Log.info("⚠️  Could not collect browser performance for " + pageName + ": " + e.getMessage());
+            return null;
+        }
+
+        for (String metric : TIMING_METRICS) {
+            double value = performance.getMetric(metric);
+            if (value >= 0) {
+                PerformanceMonitor.recordTiming("browser." + pageName + "." + metric, Math.round(value));
+            }
+        }
+        appendToHistory(performance);
+        collected.incrementAndGet();
+        Log.detail("📊 %s", performance);
+        return performance;
+    }
+
+    private static PagePerformance toPagePerformance(String pageName, String url, Map<?, ?> raw) {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) raw.get("metrics")).entrySet()) {
+            if (entry.getValue() instanceof Number) {
+                metrics.put(String.valueOf(entry.getKey()), ((Number) entry.getValue()).doubleValue());
+            }
+        }
+        List<Map<String, Object>> resources = new ArrayList<>();
+        for (Object resource : (List<?>) raw.get("resources")) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) resource).entrySet()) {
+                copy.put(String.valueOf(entry.getKey()), entry.getValue());
+            }
+            resources.add(copy);
+        }
+        return new PagePerformance(pageName, url, System.currentTimeMillis(), metrics, resources);
+    }
+
+    private static synchronized void appendToHistory(PagePerformance performance) {
+        StringWriter line = new StringWriter();
+        try (JsonOutput out = new Json().newOutput(line)) {
+            out.setPrettyPrint(false).write(performance.toMap());
+        }
+        HISTORY_FILE.getParentFile().mkdirs();
+        try (Writer writer = Files.newBufferedWriter(HISTORY_FILE.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line.toString());
+            writer.write('\n');
+        } catch (IOException e) {
+            Log.info("⚠️  Could not save browser performance: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Number of page loads collected by this run
+     */
+    public static int getCollectedCount() {
+        return collected.get();
+    }
+
+    /**
+     * Aggregate the timings of every recorded run, keyed "<page>.<metric>"
+     */
+    public static Map<String, LatencyHistogram> loadHistory() {
+        Map<String, LatencyHistogram> aggregated = new TreeMap<>();
+        if (!HISTORY_FILE.exists()) return aggregated;
+
+        Json json = new Json();
+        try (BufferedReader reader = Files.newBufferedReader(HISTORY_FILE.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                try {
+                    Map<String, Object> record = json.toType(line, Json.MAP_TYPE);
+                    Map<?, ?> metrics = (Map<?, ?>) record.get("metrics");
+                    for (String metric : TIMING_METRICS) {
+                        Object value = metrics.get(metric);
+                        if (value instanceof Number) {
+                            aggregated.computeIfAbsent(record.get("page") + "." + metric, key -> new LatencyHistogram())
+                                .recordMillis(Math.round(((Number) value).doubleValue()));
+                        }
+                    }
+                } catch (JsonException | ClassCastException e) {
+                    // skip corrupt line
+                }
+            }
+        } catch (IOException e) {
+            Log.info("⚠️  Could not read browser performance history: " + e.getMessage());
+        }
+        return aggregated;
+    }
+
+    /**
+     * Get browser-side timings aggregated across all recorded runs as report
+     */
+    public static String getHistoryReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("\n=== Browser Performance (all runs) ===\n");
+        for (Map.Entry<String, LatencyHistogram> entry : loadHistory().entrySet()) {
+            report.append(String.format("%-45s: %s%n", entry.getKey(), entry.getValue()));
+        }
+        report.append("======================================\n");
+        return report.toString();
+    }
+
+    /**
+     * Print browser performance history
+     */
+    public static void printHistorySummary() {
+        Log.info(getHistoryReport());
+    }
+}
@@ -0,0 +1,134 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * CdpEvents - Shared Chrome DevTools Protocol connection for one browser session
+ * Registers each CDP event once and fans it out to subscribers that can come and go,
+ * so pooled sessions can be observed by many tests without piling up DevTools listeners
+ */
+public class CdpEvents {
+
+    private static final Map<WebDriver, CdpEvents> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final DevTools devTools;
+    private final Map<String, List<Consumer<Map<String, Object>>>> subscribers = new ConcurrentHashMap<>();
+    private final Set<String> enabledDomains = ConcurrentHashMap.newKeySet();
+
+    private CdpEvents(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Get the CDP connection for a driver, or null if the browser has no DevTools support
+     */
+    public static CdpEvents forDriver(WebDriver driver) {
+        WebDriver raw = unwrap(driver);
+        synchronized (sessions) {
+            CdpEvents events = sessions.get(raw);
+            if (events == null && raw instanceof HasDevTools) {
+                try {
+                    DevTools devTools = ((HasDevTools) raw).getDevTools();
+                    devTools.createSessionIfThereIsNotOne();
+                    events = new CdpEvents(devTools);
+                    sessions.put(raw, events);
+                } catch (RuntimeException e) {
+                    Log.info("⚠️  DevTools unavailable: " + e.getMessage());
+                    return null;
+                }
+            }
+            return events;
+        }
+    }
+
+    /**
+     * Drop the CDP connection of a session that is being quit
+     */
+    public static void release(WebDriver driver) {
+        CdpEvents events = sessions.remove(unwrap(driver));
+        if (events != null) {
+            try {
+                events.devTools.close();
+            } catch (RuntimeException e) {
+                // connection already closed with the browser
+            }
+        }
+    }
+
+    /**
+     * Get the underlying browser driver from a decorated one
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver) {
+            WebDriver inner = ((WrapsDriver) current).getWrappedDriver();
+            if (inner == null || inner == current) break;
+            current = inner;
+        }
+        return current;
+    }
+
+    /**
+     * Enable a CDP domain (e.g. "Network", "Page") once per session
+     */
+    public void enable(String domain) {
+        if (enabledDomains.add(domain)) {
+            send(domain + ".enable", Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Send a raw CDP command and return its result
+     */
+    public Map<String, Object> send(String method, Map<String, Object> params) {
+        return devTools.send(new Command<Map<String, Object>>(method, params, Json.MAP_TYPE));
+    }
+
+    /**
+     * Subscribe to a CDP event; close the returned subscription to stop receiving it
+     */
+    public Subscription subscribe(String event, Consumer<Map<String, Object>> listener) {
+        List<Consumer<Map<String, Object>>> listeners = subscribers.computeIfAbsent(event, name -> {
+            CopyOnWriteArrayList<Consumer<Map<String, Object>>> list = new CopyOnWriteArrayList<>();
+            devTools.addListener(
+                new Event<Map<String, Object>>(name, input -> input.read(Json.MAP_TYPE)),
+                params -> dispatch(list, params));
+            return list;
+        });
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    private static void dispatch(List<Consumer<Map<String, Object>>> listeners, Map<String, Object> params) {
+        for (Consumer<Map<String, Object>> listener : listeners) {
+            try {
+                listener.accept(params);
+            } catch (RuntimeException e) {
+                // a failing subscriber must not break the DevTools connection thread
+            }
+        }
+    }
+
+    /**
+     * Handle for an event subscription
+     */
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,117 @@
+package utils;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * CommandTimingListener - Times WebDriver commands without any calls in page objects or tests
+ * Registered through EventFiringDecorator; when performance tracking is on, records each timed command
+ * into PerformanceMonitor as "<PageObject>.<method> > <command>" (e.g. "PaymentPage.selectUPI > click")
+ * and counts it, and emits each command as a TraceRecorder span when tracing is on and as a JFR page action event
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    private static final Set<String> TIMED_COMMANDS = new HashSet<>(Arrays.asList(
+        "get", "findElement", "findElements", "click", "sendKeys", "executeScript", "executeAsyncScript"));
+
+    private static final String PAGES_PACKAGE = "pages.";
+    private static final String TESTS_PACKAGE = "tests.";
+    private static final String BASE_PAGE = "pages.BasePage";
+
+    // Per-thread stack of open timed commands; nested commands reuse the outermost caller tag
+    private static final ThreadLocal<CallStack> calls = ThreadLocal.withInitial(CallStack::new);
+
+    private static class CallStack {
+        long[] starts = new long[4];
+        String[] callers = new String[4];
+        JfrEvents.PageActionEvent[] events = new JfrEvents.PageActionEvent[4];
+        int depth;
+
+        void push(long start, String caller, JfrEvents.PageActionEvent event) {
+            if (depth == starts.length) {
+                starts = Arrays.copyOf(starts, depth * 2);
+                callers = Arrays.copyOf(callers, depth * 2);
+                events = Arrays.copyOf(events, depth * 2);
+            }
+            starts[depth] = start;
+            callers[depth] = caller;
+            events[depth] = event;
+            depth++;
+        }
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!TIMED_COMMANDS.contains(method.getName())) return;
+        CallStack stack = calls.get();
+        String caller = stack.depth > 0 ? stack.callers[stack.depth - 1] : findCaller();
+        stack.push(System.nanoTime(), caller, JfrEvents.beginPageAction(caller, method.getName()));
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private static void finish(Method method) {
+        if (!TIMED_COMMANDS.contains(method.getName())) return;
+        CallStack stack = calls.get();
+        if (stack.depth == 0) return;
+        stack.depth--;
+        long nanos = System.nanoTime() - stack.starts[stack.depth];
+        String caller = stack.callers[stack.depth];
+        stack.callers[stack.depth] = null;
+        JfrEvents.commit(stack.events[stack.depth]);
+        stack.events[stack.depth] = null;
+
+        // The listener is also installed for tracing and JFR alone; -Dtracking=false keeps metrics off
+        if (ConfigManager.PERFORMANCE_TRACKING) {
+            PerformanceMonitor.recordLatency(caller + " > " + method.getName(), nanos);
+            PerformanceMonitor.incrementActionCount(method.getName());
+        }
+
+        if (TraceRecorder.isEnabled()) {
+            long start = stack.starts[stack.depth];
+            TraceRecorder.complete(method.getName(), "command", start, start + nanos,
+                Collections.singletonMap("caller", caller));
+            if (stack.depth == 0) {
+                TraceRecorder.pageActivity(start, start + nanos);
+            }
+        }
+    }
+
+    /**
+     * Get the page-object method (or else the test method) that issued the command
+     */
+    static String findCaller() {
+        StackTraceElement testFrame = null;
+        for (StackTraceElement frame : Thread.currentThread().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(PAGES_PACKAGE) && !className.equals(BASE_PAGE) && !frame.getMethodName().startsWith("lambda$")) {
+                return tag(frame);
+            }
+            if (testFrame == null && className.startsWith(TESTS_PACKAGE)) {
+                testFrame = frame;
+            }
+        }
+        return testFrame != null ? tag(testFrame) : "driver";
+    }
+
+    private static String tag(StackTraceElement frame) {
+        String className = frame.getClassName();
+        int nested = className.indexOf('$');
+        if (nested >= 0) className = className.substring(0, nested);
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+}
@@ -1,5 +1,9 @@
 package utils;
 
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
 /**
  * ConfigManager - Centralized configuration management for the test suite
  * Handles environment-specific settings and properties
@@ -31,6 +35,60 @@ public class ConfigManager {
         System.getProperty("pageLoadTimeout", "30")
     );
 
+    // Adaptive Timeout Configuration
+    // Learn wait timeouts from the p99 of earlier runs instead of using the static values above
+    public static final boolean ADAPTIVE_TIMEOUTS = Boolean.parseBoolean(
+        System.getProperty("adaptiveTimeouts", "true")
+    );
+    public static final int ADAPTIVE_MIN_SAMPLES = Integer.parseInt(
+        System.getProperty("adaptiveMinSamples", "20")
+    );
+    public static final double ADAPTIVE_HEADROOM = Double.parseDouble(
+        System.getProperty("adaptiveHeadroom", "1.5")
+    );
+    public static final int ADAPTIVE_MIN_TIMEOUT_MS = Integer.parseInt(
+        System.getProperty("adaptiveMinTimeoutMs", "1000")
+    );
+    // Learned timeouts may grow up to this multiple of the static value on slow environments
+    public static final double ADAPTIVE_MAX_FACTOR = Double.parseDouble(
+        System.getProperty("adaptiveMaxFactor", "3")
+    );
+    // Retry a locator wait up to the static timeout once its learned timeout expires (off = fail fast)
+    public static final boolean ADAPTIVE_FALLBACK_RETRY = Boolean.parseBoolean(
+        System.getProperty("adaptiveFallbackRetry", "false")
+    );
+    // Directory for data carried across runs (timeout history, baselines)
+    public static final String PERF_HISTORY_DIR = System.getProperty("perfHistoryDir", "perf-history");
+
+    // Page Readiness Configuration
+    // Hard upper bound (seconds) for a page to become usable
+    public static final int PAGE_READY_TIMEOUT = Integer.parseInt(
+        System.getProperty("pageReadyTimeout", "180")
+    );
+    // How long (ms) the network must stay idle before a page counts as loaded
+    public static final int NETWORK_QUIET_MS = Integer.parseInt(
+        System.getProperty("networkQuietMs", "500")
+    );
+    public static final int NETWORK_IDLE_MAX_IN_FLIGHT = Integer.parseInt(
+        System.getProperty("networkIdleMaxInFlight", "2")
+    );
+    public static final int READINESS_POLL_MS = Integer.parseInt(
+        System.getProperty("readinessPollMs", "100")
+    );
+
+    // DOM Settle Configuration
+    // An action has settled once the DOM has not changed for this long (ms)
+    public static final int DOM_QUIET_MS = Integer.parseInt(
+        System.getProperty("domQuietMs", "150")
+    );
+    // Upper bound (ms) for one settle wait - must stay below the WebDriver script timeout
+    public static final int DOM_SETTLE_TIMEOUT_MS = Integer.parseInt(
+        System.getProperty("domSettleTimeoutMs", "2000")
+    );
+    // Mutations inside elements matching this selector (spinners, countdown timers) do not delay settling
+    public static final String DOM_SETTLE_IGNORE = System.getProperty("domSettleIgnore",
+        "[role=progressbar], [role=timer], [aria-busy=true], [class*=spinner], [class*=loader], [class*=countdown], [class*=timer]");
+
     // Logging Configuration
     public static final boolean DETAILED_LOGGING = Boolean.parseBoolean(
         System.getProperty("logging", "true")
@@ -38,6 +96,117 @@ public class ConfigManager {
     public static final boolean PERFORMANCE_TRACKING = Boolean.parseBoolean(
         System.getProperty("tracking", "false")
     );
+    // Each test's lines are also written to <logDir>/<test>-<id>.log
+    public static final boolean LOG_TO_FILE = Boolean.parseBoolean(
+        System.getProperty("logToFile", "true")
+    );
+    public static final String LOG_DIR = System.getProperty("logDir", "logs");
+    // Lines a thread can buffer before it waits for the log writer
+    public static final int LOG_BUFFER_LINES = Integer.parseInt(
+        System.getProperty("logBufferLines", "1024")
+    );
+
+    // Performance Regression Gate
+    // Options: off, warn, fail
+    public static final String PERF_REGRESSION_MODE = System.getProperty("perfRegression", "warn");
+    // A p95 may grow by this fraction over the baseline before it counts as a regression
+    public static final double PERF_REGRESSION_TOLERANCE = Double.parseDouble(
+        System.getProperty("perfRegressionTolerance", "0.20")
+    );
+    // Confidence of the one-sided test that more samples than expected exceed the baseline p95
+    public static final double PERF_REGRESSION_CONFIDENCE = Double.parseDouble(
+        System.getProperty("perfRegressionConfidence", "0.95")
+    );
+    public static final int PERF_REGRESSION_MIN_SAMPLES = Integer.parseInt(
+        System.getProperty("perfRegressionMinSamples", "5")
+    );
+    // Replace the stored baseline with this run's percentiles at suite end
+    public static final boolean PERF_BASELINE_UPDATE = Boolean.parseBoolean(
+        System.getProperty("perfBaselineUpdate", "false")
+    );
+
+    // Trace Configuration
+    // Write tests, page methods, WebDriver commands and waits as Chrome trace-event JSON
+    public static final boolean TRACE_ENABLED = Boolean.parseBoolean(
+        System.getProperty("trace", "false")
+    );
+    public static final String TRACE_DIR = System.getProperty("traceDir", "traces");
+    // Events buffered for the writer thread; overflow is dropped instead of blocking tests
+    public static final int TRACE_BUFFER_EVENTS = Integer.parseInt(
+        System.getProperty("traceBufferEvents", "65536")
+    );
+
+    // Flight Recorder Configuration
+    // Record the run with JFR; framework events sit next to GC, allocation and lock events
+    public static final boolean JFR_RECORDING = Boolean.parseBoolean(
+        System.getProperty("jfr", "false")
+    );
+    // JFR settings: "default" (low overhead) or "profile" (adds allocation and lock detail)
+    public static final String JFR_SETTINGS = System.getProperty("jfrSettings", "profile");
+    public static final String JFR_DIR = System.getProperty("jfrDir", "jfr");
+
+    // Network Capture Configuration
+    // Record every browser request of each test (CDP Network events) to JSONL and HAR
+    public static final boolean NETWORK_CAPTURE = Boolean.parseBoolean(
+        System.getProperty("networkCapture", "false")
+    );
+    public static final String NETWORK_CAPTURE_DIR = System.getProperty("networkCaptureDir", "network-logs");
+    public static final boolean NETWORK_CAPTURE_HAR = Boolean.parseBoolean(
+        System.getProperty("networkCaptureHar", "true")
+    );
+    // Upper bounds that keep capture memory flat on long runs; overflow is counted and dropped
+    public static final int NETWORK_MAX_IN_FLIGHT = Integer.parseInt(
+        System.getProperty("networkMaxInFlight", "2000")
+    );
+    public static final int NETWORK_QUEUE_CAPACITY = Integer.parseInt(
+        System.getProperty("networkQueueCapacity", "10000")
+    );
+
+    // Process Sampling Configuration
+    // Sample RSS, CPU time and threads of each session's chromedriver and Chrome processes (Linux /proc)
+    public static final boolean PROCESS_SAMPLING = Boolean.parseBoolean(
+        System.getProperty("processSampling", "false")
+    );
+    public static final long PROCESS_SAMPLE_INTERVAL_MS = Long.parseLong(
+        System.getProperty("processSampleIntervalMs", "1000")
+    );
+    // Sessions whose process tree grows past this are recycled instead of reused
+    public static final int PROCESS_RSS_THRESHOLD_MB = Integer.parseInt(
+        System.getProperty("processRssThresholdMb", "1536")
+    );
+    public static final String PROCESS_SAMPLES_DIR = System.getProperty("processSamplesDir", "process-samples");
+
+    // Visual Comparison Configuration
+    // Baselines are committed PNGs; diffs of mismatching captures are written for review
+    public static final String VISUAL_BASELINE_DIR = System.getProperty("visualBaselineDir", "visual-baselines");
+    public static final String VISUAL_DIFF_DIR = System.getProperty("visualDiffDir", "visual-diffs");
+    public static final boolean VISUAL_BASELINE_UPDATE = Boolean.parseBoolean(
+        System.getProperty("visualBaselineUpdate", "false")
+    );
+    // Share of differing pixels allowed, and per-channel difference still treated as equal
+    public static final double VISUAL_DIFF_THRESHOLD = Double.parseDouble(
+        System.getProperty("visualDiffThreshold", "0.001")
+    );
+    public static final int VISUAL_PIXEL_TOLERANCE = Integer.parseInt(
+        System.getProperty("visualPixelTolerance", "16")
+    );
+
+    // Screen Recording Configuration
+    // Keep the last seconds of each session's screen (CDP screencast) in memory; saved only on failure
+    public static final boolean SCREEN_RECORDING = Boolean.parseBoolean(
+        System.getProperty("screenRecording", "false")
+    );
+    public static final int SCREEN_RECORDING_SECONDS = Integer.parseInt(
+        System.getProperty("screenRecordingSeconds", "10")
+    );
+    // Fixed frame buffer per recording; the oldest frames are overwritten when it is full
+    public static final int SCREEN_RECORDING_BUFFER_MB = Integer.parseInt(
+        System.getProperty("screenRecordingBufferMb", "8")
+    );
+    public static final int SCREEN_RECORDING_QUALITY = Integer.parseInt(
+        System.getProperty("screenRecordingQuality", "60")
+    );
+    public static final String SCREEN_RECORDING_DIR = System.getProperty("screenRecordingDir", "screen-recordings");
 
     // Screenshot Configuration
     public static final boolean SCREENSHOT_ON_FAILURE = Boolean.parseBoolean(
@@ -46,6 +215,23 @@ public class ConfigManager {
     public static final boolean SCREENSHOT_ON_SUCCESS = Boolean.parseBoolean(
         System.getProperty("screenshotSuccess", "false")
     );
+    public static final String SCREENSHOT_DIR = System.getProperty("screenshotDir", "screenshots");
+    // Background writers and queued screenshots; a full queue makes the capturing thread write
+    public static final int SCREENSHOT_WRITER_THREADS = Integer.parseInt(
+        System.getProperty("screenshotWriterThreads", "2")
+    );
+    public static final int SCREENSHOT_QUEUE_CAPACITY = Integer.parseInt(
+        System.getProperty("screenshotQueueCapacity", "32")
+    );
+    // Disk budget of the screenshot store; least recently used images are evicted beyond it
+    public static final int SCREENSHOT_BUDGET_MB = Integer.parseInt(
+        System.getProperty("screenshotBudgetMb", "256")
+    );
+    // Max differing bits of the 64-bit perceptual hash for a near duplicate (0 = exact duplicates only;
+    // failure screenshots are never near-deduplicated)
+    public static final int SCREENSHOT_NEAR_DUPLICATE_BITS = Integer.parseInt(
+        System.getProperty("screenshotNearDuplicateBits", "0")
+    );
 
     // Retry Configuration
     public static final int MAX_RETRIES = Integer.parseInt(
@@ -59,14 +245,43 @@ public class ConfigManager {
     public static final boolean PARALLEL_EXECUTION = Boolean.parseBoolean(
         System.getProperty("parallel", "false")
     );
-    public static final int THREAD_COUNT = Integer.parseInt(
+    public static final int THREAD_COUNT = parseThreadCount(
         System.getProperty("threads", "1")
     );
+    // Options: methods, classes, tests
+    public static final String PARALLEL_MODE = System.getProperty("parallelMode", "methods");
+
+    // Driver Pool Configuration
+    public static final int DRIVER_POOL_SIZE = Integer.parseInt(
+        System.getProperty("poolSize", String.valueOf(THREAD_COUNT))
+    );
+    public static final int DRIVER_MAX_REUSE = Integer.parseInt(
+        System.getProperty("poolMaxReuse", "20")
+    );
+    public static final int DRIVER_LEASE_TIMEOUT = Integer.parseInt(
+        System.getProperty("poolLeaseTimeout", "300")
+    );
 
     // Test Data Configuration
     public static final boolean USE_TEST_DATA = Boolean.parseBoolean(
         System.getProperty("testData", "true")
     );
+    // Seed for generated payment data; the same seed reproduces the same records
+    public static final long TEST_DATA_SEED = Long.parseLong(
+        System.getProperty("dataSeed", "20240601")
+    );
+    // Month generated card expiries count from (yyyy-MM); defaults to January of next year, so a seed yields
+    // the same records all year and every generated expiry is still in the future
+    public static final String TEST_DATA_REFERENCE_MONTH = System.getProperty("dataReferenceMonth",
+        YearMonth.of(Year.now().getValue() + 1, 1).toString());
+    // Records each generated-data DataProvider yields
+    public static final long GENERATED_RECORDS = Long.parseLong(
+        System.getProperty("generatedRecords", "100")
+    );
+    // CSV / JSONL payment data file for file-driven DataProviders (empty = none)
+    public static final String TEST_DATA_FILE = System.getProperty("dataFile", "");
+    // Part of the data file this run reads, as index/count (e.g. 2/4)
+    public static final String TEST_DATA_FILE_SHARD = System.getProperty("dataFileShard", "1/1");
 
     /**
      * Get base URL based on environment
@@ -87,44 +302,74 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Parse thread count - "auto" uses every available core
+     */
+    private static int parseThreadCount(String threads) {
+        if ("auto".equalsIgnoreCase(threads.trim())) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return Integer.parseInt(threads.trim());
+    }
+
     /**
      * Print all configuration
      */
     public static void printConfiguration() {
-        System.out.println("\n╔════════════════════════════════════════╗");
-        System.out.println("║    Test Configuration Summary          ║");
-        System.out.println("╚════════════════════════════════════════╝\n");
-
-        System.out.println("🌐 Environment Settings:");
-        System.out.println("  • Environment: " + ENVIRONMENT);
-        System.out.println("  • Base URL: " + BASE_URL);
-        System.out.println("  • Payment URL: " + PAYMENT_URL);
-
-        System.out.println("\n🖥️  Browser Settings:");
-        System.out.println("  • Browser: " + BROWSER);
-        System.out.println("  • Headless Mode: " + HEADLESS_MODE);
-        System.out.println("  • Maximize Window: " + MAXIMIZE_WINDOW);
-
-        System.out.println("\n⏱️  Timeout Settings:");
-        System.out.println("  • Implicit Wait: " + IMPLICIT_WAIT + " seconds");
-        System.out.println("  • Explicit Wait: " + EXPLICIT_WAIT + " seconds");
-        System.out.println("  • Page Load Timeout: " + PAGE_LOAD_TIMEOUT + " seconds");
-
-        System.out.println("\n📸 Screenshot Settings:");
-        System.out.println("  • Screenshot on Failure: " + SCREENSHOT_ON_FAILURE);
-        System.out.println("  • Screenshot on Success: " + SCREENSHOT_ON_SUCCESS);
-
-        System.out.println("\n🔄 Retry Settings:");
-        System.out.println("  • Max Retries: " + MAX_RETRIES);
-        System.out.println("  • Retry Enabled: " + RETRY_ENABLED);
-
-        System.out.println("\n⚡ Execution Settings:");
-        System.out.println("  • Parallel Execution: " + PARALLEL_EXECUTION);
-        System.out.println("  • Thread Count: " + THREAD_COUNT);
-        System.out.println("  • Detailed Logging: " + DETAILED_LOGGING);
-        System.out.println("  • Performance Tracking: " + PERFORMANCE_TRACKING);
-
-        System.out.println("\n════════════════════════════════════════\n");
+        Log.info("\n╔════════════════════════════════════════╗");
+        Log.info("║    Test Configuration Summary          ║");
+        Log.info("╚════════════════════════════════════════╝\n");
+
+        Log.info("🌐 Environment Settings:");
+        Log.info("  • Environment: " + ENVIRONMENT);
+        Log.info("  • Base URL: " + BASE_URL);
+        Log.info("  • Payment URL: " + PAYMENT_URL);
+
+        Log.info("\n🖥️  Browser Settings:");
+        Log.info("  • Browser: " + BROWSER);
+        Log.info("  • Headless Mode: " + HEADLESS_MODE);
+        Log.info("  • Maximize Window: " + MAXIMIZE_WINDOW);
+
+        Log.info("\n⏱️  Timeout Settings:");
+        Log.info("  • Implicit Wait: " + IMPLICIT_WAIT + " seconds");
+        Log.info("  • Explicit Wait: " + EXPLICIT_WAIT + " seconds");
+        Log.info("  • Page Load Timeout: " + PAGE_LOAD_TIMEOUT + " seconds");
+        Log.info("  • Page Ready Timeout: " + PAGE_READY_TIMEOUT + " seconds");
+        Log.info("  • Adaptive Timeouts: " + ADAPTIVE_TIMEOUTS
+            + (ADAPTIVE_FALLBACK_RETRY ? " (retry up to the static timeout)" : ""));
+
+        Log.info("\n📸 Screenshot Settings:");
+        Log.info("  • Screenshot on Failure: " + SCREENSHOT_ON_FAILURE);
+        Log.info("  • Screenshot on Success: " + SCREENSHOT_ON_SUCCESS);
+        Log.info("  • Screenshot Store Budget: " + SCREENSHOT_BUDGET_MB + " MB");
+        Log.info("  • Screen Recording on Failure: " + SCREEN_RECORDING
+            + (SCREEN_RECORDING ? " (last " + SCREEN_RECORDING_SECONDS + "s, " + SCREEN_RECORDING_BUFFER_MB + " MB buffer)" : ""));
+
+        Log.info("\n🔄 Retry Settings:");
+        Log.info("  • Max Retries: " + MAX_RETRIES);
+        Log.info("  • Retry Enabled: " + RETRY_ENABLED);
+
+        Log.info("\n⚡ Execution Settings:");
+        Log.info("  • Parallel Execution: " + PARALLEL_EXECUTION);
+        Log.info("  • Parallel Mode: " + PARALLEL_MODE);
+        Log.info("  • Thread Count: " + THREAD_COUNT);
+        Log.info("  • Driver Pool Size: " + DRIVER_POOL_SIZE);
+        Log.info("  • Driver Max Reuse: " + DRIVER_MAX_REUSE);
+        Log.info("  • Detailed Logging: " + DETAILED_LOGGING);
+        Log.info("  • Per-Test Log Files: " + (LOG_TO_FILE ? LOG_DIR : "off"));
+        Log.info("  • Performance Tracking: " + PERFORMANCE_TRACKING);
+        Log.info("  • Network Capture: " + NETWORK_CAPTURE);
+        Log.info("  • Trace Export: " + TRACE_ENABLED);
+        Log.info("  • Flight Recording: " + JFR_RECORDING + (JFR_RECORDING ? " (" + JFR_SETTINGS + ")" : ""));
+        Log.info("  • Process Sampling: " + PROCESS_SAMPLING
+            + (PROCESS_SAMPLING ? " (every " + PROCESS_SAMPLE_INTERVAL_MS + "ms, threshold " + PROCESS_RSS_THRESHOLD_MB + "MB)" : ""));
+        Log.info("  • Generated Test Data: " + GENERATED_RECORDS + " records per provider (seed " + TEST_DATA_SEED
+            + ", expiries from " + TEST_DATA_REFERENCE_MONTH + ")");
+        Log.info("  • Test Data File: " + (TEST_DATA_FILE.isEmpty() ? "none" : TEST_DATA_FILE + " (shard " + TEST_DATA_FILE_SHARD + ")"));
+        Log.info("  • Performance Regression Gate: " + PERF_REGRESSION_MODE
+            + " (tolerance " + Math.round(PERF_REGRESSION_TOLERANCE * 100) + "%)");
+
+        Log.info("\n════════════════════════════════════════\n");
     }
 
     /**
@@ -142,8 +387,8 @@ public class ConfigManager {
      * Get timeout configuration
      */
     public static String getTimeoutConfig() {
-        return String.format("Implicit: %ds | Explicit: %ds | PageLoad: %ds",
-            IMPLICIT_WAIT, EXPLICIT_WAIT, PAGE_LOAD_TIMEOUT);
+        return String.format("Implicit: %ds | Explicit: %ds | PageLoad: %ds | PageReady: %ds",
+            IMPLICIT_WAIT, EXPLICIT_WAIT, PAGE_LOAD_TIMEOUT, PAGE_READY_TIMEOUT);
     }
 
     /**
@@ -159,40 +404,98 @@ public class ConfigManager {
      */
     public static String getExecutionConfig() {
         return String.format("Mode: %s | Threads: %d",
-            PARALLEL_EXECUTION ? "PARALLEL" : "SEQUENTIAL", THREAD_COUNT);
+            PARALLEL_EXECUTION ? "PARALLEL (" + PARALLEL_MODE + ")" : "SEQUENTIAL", THREAD_COUNT);
     }
 
     /**
      * Validate configuration
      */
     public static boolean validateConfiguration() {
-        System.out.println("\n🔍 Validating Configuration...");
+        Log.info("\n🔍 Validating Configuration...");
 
         // Validate environment
         if (!isValidEnvironment(ENVIRONMENT)) {
-            System.out.println("❌ Invalid environment: " + ENVIRONMENT);
+            Log.info("❌ Invalid environment: " + ENVIRONMENT);
             return false;
         }
 
         // Validate browser
         if (!isValidBrowser(BROWSER)) {
-            System.out.println("❌ Invalid browser: " + BROWSER);
+            Log.info("❌ Invalid browser: " + BROWSER);
             return false;
         }
 
         // Validate timeouts
-        if (IMPLICIT_WAIT <= 0 || EXPLICIT_WAIT <= 0) {
-            System.out.println("❌ Invalid timeout values");
+        if (IMPLICIT_WAIT <= 0 || EXPLICIT_WAIT <= 0 || PAGE_READY_TIMEOUT <= 0) {
+            Log.info("❌ Invalid timeout values");
+            return false;
+        }
+
+        // Validate parallel mode
+        if (!isValidParallelMode(PARALLEL_MODE)) {
+            Log.info("❌ Invalid parallel mode: " + PARALLEL_MODE);
+            return false;
+        }
+
+        // Validate driver pool
+        if (DRIVER_POOL_SIZE <= 0 || DRIVER_MAX_REUSE <= 0) {
+            Log.info("❌ Invalid driver pool settings: size=" + DRIVER_POOL_SIZE
+                + ", maxReuse=" + DRIVER_MAX_REUSE);
+            return false;
+        }
+
+        // Validate regression gate
+        if (!isValidRegressionMode(PERF_REGRESSION_MODE) || PERF_REGRESSION_TOLERANCE < 0
+                || PERF_REGRESSION_CONFIDENCE <= 0.5 || PERF_REGRESSION_CONFIDENCE >= 1) {
+            Log.info("❌ Invalid performance regression settings: mode=" + PERF_REGRESSION_MODE
+                + ", tolerance=" + PERF_REGRESSION_TOLERANCE + ", confidence=" + PERF_REGRESSION_CONFIDENCE);
+            return false;
+        }
+
+        // Validate network capture bounds
+        if (NETWORK_MAX_IN_FLIGHT <= 0 || NETWORK_QUEUE_CAPACITY <= 0) {
+            Log.info("❌ Invalid network capture bounds: maxInFlight=" + NETWORK_MAX_IN_FLIGHT
+                + ", queueCapacity=" + NETWORK_QUEUE_CAPACITY);
+            return false;
+        }
+
+        // Validate generated data volume
+        if (GENERATED_RECORDS < 0) {
+            Log.info("❌ Invalid generated record count: " + GENERATED_RECORDS);
+            return false;
+        }
+
+        // Validate expiry reference month
+        try {
+            if (YearMonth.parse(TEST_DATA_REFERENCE_MONTH).isBefore(YearMonth.now())) {
+                Log.info("⚠️  Data reference month " + TEST_DATA_REFERENCE_MONTH
+                    + " has passed; some generated expiries may be in the past (set -DdataReferenceMonth)");
+            }
+        } catch (DateTimeParseException e) {
+            Log.info("❌ Invalid data reference month: " + TEST_DATA_REFERENCE_MONTH + " (expected yyyy-MM)");
+            return false;
+        }
+
+        // Validate data file shard
+        if (!isValidShard(TEST_DATA_FILE_SHARD)) {
+            Log.info("❌ Invalid data file shard: " + TEST_DATA_FILE_SHARD + " (expected index/count, e.g. 2/4)");
+            return false;
+        }
+
+        // Validate process sampling
+        if (PROCESS_SAMPLE_INTERVAL_MS <= 0 || PROCESS_RSS_THRESHOLD_MB <= 0) {
+            Log.info("❌ Invalid process sampling settings: intervalMs=" + PROCESS_SAMPLE_INTERVAL_MS
+                + ", rssThresholdMb=" + PROCESS_RSS_THRESHOLD_MB);
             return false;
         }
 
         // Validate thread count
         if (THREAD_COUNT <= 0) {
-            System.out.println("❌ Invalid thread count: " + THREAD_COUNT);
+            Log.info("❌ Invalid thread count: " + THREAD_COUNT);
             return false;
         }
 
-        System.out.println("✅ Configuration validation passed\n");
+        Log.info("✅ Configuration validation passed\n");
         return true;
     }
 
@@ -216,16 +519,44 @@ public class ConfigManager {
                browser.equalsIgnoreCase("safari");
     }
 
+    /**
+     * Check if parallel mode is valid
+     */
+    private static boolean isValidParallelMode(String mode) {
+        return mode.equalsIgnoreCase("methods") ||
+               mode.equalsIgnoreCase("classes") ||
+               mode.equalsIgnoreCase("tests");
+    }
+
+    /**
+     * Check if performance regression mode is valid
+     */
+    private static boolean isValidRegressionMode(String mode) {
+        return mode.equalsIgnoreCase("off") ||
+               mode.equalsIgnoreCase("warn") ||
+               mode.equalsIgnoreCase("fail");
+    }
+
+    private static boolean isValidShard(String shard) {
+        String[] parts = shard.trim().split("/");
+        try {
+            return parts.length == 2 && Integer.parseInt(parts[1].trim()) > 0
+                && Integer.parseInt(parts[0].trim()) >= 1 && Integer.parseInt(parts[0].trim()) <= Integer.parseInt(parts[1].trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
     /**
      * Get system information
      */
     public static void printSystemInfo() {
-        System.out.println("\n📱 System Information:");
-        System.out.println("  • OS: " + System.getProperty("os.name"));
-        System.out.println("  • OS Version: " + System.getProperty("os.version"));
-        System.out.println("  • Java Version: " + System.getProperty("java.version"));
-        System.out.println("  • Java Vendor: " + System.getProperty("java.vendor"));
-        System.out.println("  • User: " + System.getProperty("user.name"));
-        System.out.println();
+        Log.info("\n📱 System Information:");
+        Log.info("  • OS: " + System.getProperty("os.name"));
+        Log.info("  • OS Version: " + System.getProperty("os.version"));
+        Log.info("  • Java Version: " + System.getProperty("java.version"));
+        Log.info("  • Java Vendor: " + System.getProperty("java.vendor"));
+        Log.info("  • User: " + System.getProperty("user.name"));
+        Log.info("");
     }
 }
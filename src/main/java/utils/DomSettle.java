@@ -0,0 +1,89 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DomSettle - Waits for the DOM to stop changing after a UI action
+ * Injects a MutationObserver and returns once no mutation has happened for a short quiet window;
+ * continuously animated elements (spinners, countdown timers) are ignored so they cannot hold every wait at the cap
+ */
+public class DomSettle {
+
+    // Resolves true if the page went quiet, false if the cap was hit; finishes at most once.
+    // Mutations inside elements matching the ignore selector do not restart the quiet window
+    private static final String SETTLE_SCRIPT =
+        "var quiet = arguments[0], max = arguments[1], ignore = arguments[2], done = arguments[arguments.length - 1];" +
+        "var finished = false, timer, cap, observer;" +
+        "function finish(settled) {" +
+        "  if (finished) return; finished = true;" +
+        "  clearTimeout(timer); clearTimeout(cap);" +
+        "  if (observer) observer.disconnect();" +
+        "  done(settled);" +
+        "}" +
+        "function ignored(node) {" +
+        "  var element = node.nodeType === 1 ? node : node.parentElement;" +
+        "  try { return !!(ignore && element && element.closest(ignore)); } catch (e) { return false; }" +
+        "}" +
+        "function arm() { clearTimeout(timer); timer = setTimeout(function() { finish(true); }, quiet); }" +
+        "observer = new MutationObserver(function(records) {" +
+        "  for (var i = 0; i < records.length; i++) { if (!ignored(records[i].target)) { arm(); return; } }" +
+        "});" +
+        "observer.observe(document.documentElement || document," +
+        "  {subtree: true, childList: true, attributes: true, characterData: true});" +
+        "cap = setTimeout(function() { finish(false); }, max);" +
+        "arm();";
+
+    /**
+     * Wait for the DOM to go quiet using the configured window; returns milliseconds waited
+     */
+    public static long waitForQuiet(WebDriver driver, String action) {
+        return waitForQuiet(driver, action, ConfigManager.DOM_QUIET_MS, ConfigManager.DOM_SETTLE_TIMEOUT_MS);
+    }
+
+    /**
+     * Wait for the DOM to go quiet for quietMillis, giving up after maxMillis; returns milliseconds waited
+     */
+    public static long waitForQuiet(WebDriver driver, String action, long quietMillis, long maxMillis) {
+        long start = System.nanoTime();
+        JfrEvents.WaitEvent event = JfrEvents.beginWait("settle", action);
+        boolean capped = false;
+        try {
+            Object settled = ((JavascriptExecutor) driver).executeAsyncScript(SETTLE_SCRIPT, quietMillis, maxMillis,
+                ConfigManager.DOM_SETTLE_IGNORE);
+            capped = Boolean.FALSE.equals(settled);
+        } catch (WebDriverException e) {
+            // The action navigated away and unloaded the observed document - wait for the new one instead
+            waitForDocument(driver, maxMillis);
+        }
+
+        long end = System.nanoTime();
+        long waited = TimeUnit.NANOSECONDS.toMillis(end - start);
+        PerformanceMonitor.recordTiming("settle." + action, waited);
+        TraceRecorder.recordWait("settle " + action, start, end);
+        JfrEvents.commit(event);
+        if (capped) {
+            // Something outside the ignore selector keeps mutating; add it to domSettleIgnore
+            Log.info("⚠️  %s did not settle within %d ms (DOM still changing)", action, maxMillis);
+        } else {
+            Log.detail("⏳ %s settled in %d ms", action, waited);
+        }
+        return waited;
+    }
+
+    private static void waitForDocument(WebDriver driver, long maxMillis) {
+        try {
+            new WebDriverWait(driver, Duration.ofMillis(maxMillis))
+                .ignoring(WebDriverException.class)
+                .until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+        } catch (TimeoutException e) {
+            // still loading - the next action's own wait takes over
+        }
+    }
+}
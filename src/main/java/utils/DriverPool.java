@@ -0,0 +1,345 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DriverPool - Leases warm browser sessions to tests instead of cold-starting Chrome per test
+ * Sessions are reset between leases and recycled after a configurable number of uses,
+ * or as soon as ProcessSampler flags their browser for crossing the memory threshold
+ */
+public class DriverPool {
+
+    private static final int POOL_SIZE = Math.max(1, ConfigManager.DRIVER_POOL_SIZE);
+    private static final int MAX_REUSE = Math.max(1, ConfigManager.DRIVER_MAX_REUSE);
+    private static final long LEASE_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(ConfigManager.DRIVER_LEASE_TIMEOUT);
+    // Waiting leases re-check for a slot freed by a retired session this often
+    private static final long LEASE_POLL_MS = 250;
+    // Storage types cleared for every origin a session visited (cookies are cleared browser-wide separately)
+    private static final String CLEARED_STORAGE = "local_storage,indexeddb,websql,cache_storage,service_workers";
+
+    // Idle sessions are reused LIFO so the most recently used (warmest) browser is leased first
+    private static final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private static final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private static final AtomicInteger liveSessions = new AtomicInteger();
+
+    // Pool metrics
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong recycled = new AtomicLong();
+    private static final AtomicLong discarded = new AtomicLong();
+    private static final AtomicLong totalLeaseWaitNanos = new AtomicLong();
+    private static final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    // AdaptiveTimeouts key for the driver.get() page load timeout
+    public static final String PAGE_LOAD_KEY = "driver.pageLoad";
+
+    private static volatile boolean driverBinaryReady = false;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    /**
+     * A browser session owned by the pool
+     */
+    private static class PooledSession {
+        final WebDriver driver;
+        // Origins whose documents the session loaded, so their storage can be cleared on reset
+        final Set<String> origins = ConcurrentHashMap.newKeySet();
+        int uses;
+
+        PooledSession(WebDriver driver) {
+            this.driver = driver;
+            CdpEvents events = CdpEvents.forDriver(driver);
+            if (events != null) {
+                try {
+                    events.subscribe("Network.requestWillBeSent", this::documentRequested);
+                    events.enable("Network");
+                } catch (RuntimeException e) {
+                    // storage is then only cleared for the current origin
+                }
+            }
+        }
+
+        private void documentRequested(Map<String, Object> params) {
+            Object url = params.get("documentURL");
+            if (url instanceof String && ((String) url).startsWith("http")) {
+                try {
+                    URI uri = URI.create((String) url);
+                    origins.add(uri.getScheme() + "://" + uri.getRawAuthority());
+                } catch (IllegalArgumentException e) {
+                    // not a URL storage is keyed by
+                }
+            }
+        }
+    }
+
+    /**
+     * Lease a browser session, reusing an idle one when available
+     */
+    public static WebDriver lease() {
+        long waitStart = System.nanoTime();
+        long deadline = waitStart + TimeUnit.MILLISECONDS.toNanos(LEASE_TIMEOUT_MS);
+        PooledSession session = idle.pollFirst();
+        if (session != null) {
+            hits.incrementAndGet();
+        }
+
+        while (session == null) {
+            if (reserveSlot()) {
+                misses.incrementAndGet();
+                try {
+                    session = new PooledSession(createDriver());
+                } catch (RuntimeException e) {
+                    liveSessions.decrementAndGet();
+                    throw e;
+                }
+                break;
+            }
+            // Pool is at capacity - wait for a session to be handed back, re-checking for
+            // slots freed by recycled or discarded sessions, which are never handed back
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IllegalStateException("Timed out after " + LEASE_TIMEOUT_MS
+                    + " ms waiting for a browser session (pool size " + POOL_SIZE + ")");
+            }
+            try {
+                session = idle.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(LEASE_POLL_MS)),
+                    TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+            }
+            if (session != null) {
+                hits.incrementAndGet();
+            }
+        }
+
+        recordLeaseWait(System.nanoTime() - waitStart);
+        // Re-applied on every lease, as the learned timeout changes while pooled sessions live on
+        session.driver.manage().timeouts().pageLoadTimeout(pageLoadTimeout());
+        session.uses++;
+        leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    /**
+     * Return a leased session to the pool, resetting its state or recycling it
+     */
+    public static void release(WebDriver driver) {
+        if (driver == null) return;
+
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            // Not a pooled session - nothing to hand back, just close it
+            quietQuit(driver);
+            return;
+        }
+
+        if (session.uses >= MAX_REUSE || ProcessSampler.isFlagged(session.driver)) {
+            recycled.incrementAndGet();
+            retire(session);
+            return;
+        }
+
+        try {
+            resetSession(session);
+            idle.offerFirst(session);
+        } catch (RuntimeException e) {
+            // A session that cannot be reset is not safe to hand to another test
+            discarded.incrementAndGet();
+            retire(session);
+        }
+    }
+
+    /**
+     * Clear cookies, storage and extra tabs so the next lease starts clean
+     */
+    private static void resetSession(PooledSession session) {
+        WebDriver driver = session.driver;
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        if (handles.isEmpty()) {
+            throw new IllegalStateException("Session has no open windows");
+        }
+        String primary = handles.get(0);
+        for (int i = 1; i < handles.size(); i++) {
+            driver.switchTo().window(handles.get(i));
+            driver.close();
+        }
+        driver.switchTo().window(primary);
+
+        // sessionStorage belongs to the tab, so it can only be cleared from the current page
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        } catch (RuntimeException e) {
+            // about:blank and error pages have no accessible storage
+        }
+
+        WebDriver browser = CdpEvents.unwrap(driver);
+        CdpEvents events = CdpEvents.forDriver(driver);
+        if (events != null) {
+            // Persistent storage of every origin visited, including the payment gateway's
+            for (String origin : session.origins) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("origin", origin);
+                params.put("storageTypes", CLEARED_STORAGE);
+                events.send("Storage.clearDataForOrigin", params);
+            }
+            session.origins.clear();
+        }
+        if (browser instanceof ChromiumDriver) {
+            // deleteAllCookies() only reaches the current domain; CDP clears every domain
+            ((ChromiumDriver) browser).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        driver.get("about:blank");
+    }
+
+    /**
+     * Launch a new browser session
+     */
+    private static WebDriver createDriver() {
+        if (!driverBinaryReady) {
+            synchronized (DriverPool.class) {
+                if (!driverBinaryReady) {
+                    WebDriverManager.chromedriver().setup();
+                    driverBinaryReady = true;
+                }
+            }
+        }
+        WebDriver driver = new ChromeDriver();
+        driver.manage().window().maximize();
+        // Track requests from the first navigation on so readiness waits see the whole page load
+        NetworkIdleTracker.attach(driver);
+        if (ConfigManager.PERFORMANCE_TRACKING || ConfigManager.TRACE_ENABLED || ConfigManager.JFR_RECORDING) {
+            // Decorated once per session, so pooled reuse does not stack listeners
+            return new EventFiringDecorator<WebDriver>(new CommandTimingListener()).decorate(driver);
+        }
+        return driver;
+    }
+
+    private static Duration pageLoadTimeout() {
+        return AdaptiveTimeouts.timeoutFor(PAGE_LOAD_KEY, Duration.ofSeconds(ConfigManager.PAGE_LOAD_TIMEOUT));
+    }
+
+    private static boolean reserveSlot() {
+        while (true) {
+            int live = liveSessions.get();
+            if (live >= POOL_SIZE) return false;
+            if (liveSessions.compareAndSet(live, live + 1)) return true;
+        }
+    }
+
+    private static void retire(PooledSession session) {
+        liveSessions.decrementAndGet();
+        NetworkIdleTracker.detach(session.driver);
+        CdpEvents.release(session.driver);
+        quietQuit(session.driver);
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            // session already gone
+        }
+    }
+
+    private static void recordLeaseWait(long nanos) {
+        totalLeaseWaitNanos.addAndGet(nanos);
+        long max;
+        do {
+            max = maxLeaseWaitNanos.get();
+        } while (nanos > max && !maxLeaseWaitNanos.compareAndSet(max, nanos));
+    }
+
+    /**
+     * Quit every session owned by the pool
+     */
+    public static void shutdown() {
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            retire(session);
+        }
+        for (PooledSession leasedSession : leased.values()) {
+            leased.remove(leasedSession.driver);
+            retire(leasedSession);
+        }
+    }
+
+    /**
+     * Get pool hit count (leases served by a warm session)
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get pool miss count (leases that had to launch a browser)
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get pool hit rate as a percentage
+     */
+    public static double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total > 0 ? hits.get() * 100.0 / total : 0;
+    }
+
+    /**
+     * Get average lease wait in milliseconds
+     */
+    public static double getAverageLeaseWaitMillis() {
+        long total = hits.get() + misses.get();
+        return total > 0 ? totalLeaseWaitNanos.get() / 1_000_000.0 / total : 0;
+    }
+
+    /**
+     * Get pool metrics as report
+     */
+    public static String getPoolReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("\n=== Driver Pool Summary ===\n");
+        report.append(String.format("Pool Size: %d | Max Reuse: %d | Live Sessions: %d | Idle: %d%n",
+            POOL_SIZE, MAX_REUSE, liveSessions.get(), idle.size()));
+        report.append(String.format("Hits: %d | Misses: %d | Hit Rate: %.1f%%%n",
+            hits.get(), misses.get(), getHitRate()));
+        report.append(String.format("Recycled: %d | Discarded: %d%n", recycled.get(), discarded.get()));
+        report.append(String.format("Lease Wait: avg %.1f ms | max %.1f ms%n",
+            getAverageLeaseWaitMillis(), maxLeaseWaitNanos.get() / 1_000_000.0));
+        report.append("===========================\n");
+        return report.toString();
+    }
+
+    /**
+     * Print pool summary
+     */
+    public static void printPoolSummary() {
+        Log.info(getPoolReport());
+    }
+}
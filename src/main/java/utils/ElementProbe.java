@@ -0,0 +1,237 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ElementProbe - Checks presence, visibility and enabled state of many locators in one round trip
+ * Sends every locator to the browser in a single executeScript call instead of one
+ * findElements (plus isDisplayed/isEnabled) call per locator
+ */
+public class ElementProbe {
+
+    /**
+     * Script function find(strategy, value) resolving one locator alternative to an element array;
+     * shared by scripts that locate elements in the page themselves
+     */
+    public static final String FIND_FUNCTION =
+        "function find(strategy, value) {" +
+        "  switch (strategy) {" +
+        "    case 'xpath':" +
+        "      var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "      var nodes = [];" +
+        "      for (var i = 0; i < snapshot.snapshotLength; i++) nodes.push(snapshot.snapshotItem(i));" +
+        "      return nodes;" +
+        "    case 'css selector': return Array.prototype.slice.call(document.querySelectorAll(value));" +
+        "    case 'id': var byId = document.getElementById(value); return byId ? [byId] : [];" +
+        "    case 'name': return Array.prototype.slice.call(document.getElementsByName(value));" +
+        "    case 'class name': return Array.prototype.slice.call(document.getElementsByClassName(value));" +
+        "    case 'tag name': return Array.prototype.slice.call(document.getElementsByTagName(value));" +
+        "  }" +
+        "  return [];" +
+        "}";
+
+    // For each probe: [[strategy, value], ...] alternatives -> [matchedAlternative, count, visible, enabled]
+    private static final String PROBE_SCRIPT = FIND_FUNCTION +
+        "var probes = arguments[0], results = {};" +
+        "function visible(el) {" +
+        "  if (!el.getClientRects().length) return false;" +
+        "  var style = window.getComputedStyle(el);" +
+        "  return style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';" +
+        "}" +
+        "for (var key in probes) {" +
+        "  var alternatives = probes[key], result = [-1, 0, false, false];" +
+        "  for (var a = 0; a < alternatives.length; a++) {" +
+        "    var found;" +
+        "    try { found = find(alternatives[a][0], alternatives[a][1]); } catch (e) { found = []; }" +
+        "    if (!found.length) continue;" +
+        "    result = [a, found.length, false, false];" +
+        "    for (var n = 0; n < found.length; n++) {" +
+        "      if (visible(found[n])) { result[2] = true; result[3] = !found[n].disabled; break; }" +
+        "    }" +
+        "    if (!result[2]) result[3] = !found[0].disabled;" +
+        "    break;" +
+        "  }" +
+        "  results[key] = result;" +
+        "}" +
+        "return results;";
+
+    private static final List<String> SCRIPT_STRATEGIES = Arrays.asList(
+        "xpath", "css selector", "id", "name", "class name", "tag name");
+
+    /**
+     * Result of probing one locator
+     */
+    public static class ProbeResult {
+        public static final ProbeResult ABSENT = new ProbeResult(0, false, false);
+
+        private final int count;
+        private final boolean visible;
+        private final boolean enabled;
+
+        ProbeResult(int count, boolean visible, boolean enabled) {
+            this.count = count;
+            this.visible = visible;
+            this.enabled = enabled;
+        }
+
+        public boolean isPresent() {
+            return count > 0;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public boolean isInteractable() {
+            return visible && enabled;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return isPresent()
+                ? String.format("present(%d)%s%s", count, visible ? " visible" : "", enabled ? " enabled" : "")
+                : "absent";
+        }
+    }
+
+    /**
+     * Probe several locators in one browser round trip, keyed by the caller's names
+     */
+    public static Map<String, ProbeResult> probe(WebDriver driver, Map<String, By> locators) {
+        Map<String, List<List<String>>> scriptProbes = new LinkedHashMap<>();
+        Map<String, int[]> lookupOrders = new HashMap<>();
+        Map<String, ProbeResult> results = new LinkedHashMap<>();
+
+        for (Map.Entry<String, By> entry : locators.entrySet()) {
+            List<List<String>> alternatives = toScriptAlternatives(entry.getValue(), entry.getKey(), lookupOrders);
+            if (alternatives != null) {
+                scriptProbes.put(entry.getKey(), alternatives);
+            }
+        }
+
+        if (!scriptProbes.isEmpty()) {
+            long start = System.nanoTime();
+            Map<?, ?> raw = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(PROBE_SCRIPT, scriptProbes);
+            long nanos = System.nanoTime() - start;
+
+            for (String key : scriptProbes.keySet()) {
+                List<?> values = (List<?>) raw.get(key);
+                int matched = ((Number) values.get(0)).intValue();
+                ProbeResult result = new ProbeResult(((Number) values.get(1)).intValue(),
+                    Boolean.TRUE.equals(values.get(2)), Boolean.TRUE.equals(values.get(3)));
+                By locator = locators.get(key);
+                if (matched >= 0 && locator instanceof SmartLocator) {
+                    ((SmartLocator) locator).recordMatch(lookupOrders.get(key)[matched], nanos);
+                }
+                results.put(key, result);
+            }
+        }
+
+        // Locators the script cannot evaluate fall back to WebDriver calls
+        for (Map.Entry<String, By> entry : locators.entrySet()) {
+            if (!results.containsKey(entry.getKey())) {
+                results.put(entry.getKey(), probeWithDriver(driver, entry.getValue()));
+            }
+        }
+
+        // Keep the caller's ordering
+        Map<String, ProbeResult> ordered = new LinkedHashMap<>();
+        for (String key : locators.keySet()) {
+            ordered.put(key, results.get(key));
+        }
+        return ordered;
+    }
+
+    /**
+     * Check whether any of the locators is present, in one round trip
+     */
+    public static boolean anyPresent(WebDriver driver, Map<String, By> locators) {
+        for (ProbeResult result : probe(driver, locators).values()) {
+            if (result.isPresent()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check whether any of the locators is displayed and enabled, in one round trip
+     */
+    public static boolean anyInteractable(WebDriver driver, Map<String, By> locators) {
+        for (ProbeResult result : probe(driver, locators).values()) {
+            if (result.isInteractable()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Name locators by position for callers that only have a list
+     */
+    public static Map<String, By> indexed(By... locators) {
+        Map<String, By> named = new LinkedHashMap<>();
+        for (int i = 0; i < locators.length; i++) {
+            named.put(String.valueOf(i), locators[i]);
+        }
+        return named;
+    }
+
+    /**
+     * Get a locator as [strategy, value] alternatives for FIND_FUNCTION, or null if a script cannot evaluate it
+     */
+    public static List<List<String>> scriptAlternatives(By locator) {
+        return toScriptAlternatives(locator, "", new HashMap<>());
+    }
+
+    private static List<List<String>> toScriptAlternatives(By locator, String key, Map<String, int[]> lookupOrders) {
+        if (locator instanceof SmartLocator) {
+            SmartLocator smart = (SmartLocator) locator;
+            int[] order = smart.lookupOrder();
+            lookupOrders.put(key, order);
+            List<List<String>> alternatives = new ArrayList<>();
+            for (int index : order) {
+                alternatives.add(Arrays.asList("xpath", smart.getAlternatives().get(index)));
+            }
+            return alternatives;
+        }
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            if (SCRIPT_STRATEGIES.contains(parameters.using())) {
+                return Collections.singletonList(Arrays.asList(parameters.using(), String.valueOf(parameters.value())));
+            }
+        }
+        return null;
+    }
+
+    private static ProbeResult probeWithDriver(WebDriver driver, By locator) {
+        List<WebElement> found = driver.findElements(locator);
+        if (found.isEmpty()) return ProbeResult.ABSENT;
+        try {
+            for (WebElement element : found) {
+                if (element.isDisplayed()) {
+                    return new ProbeResult(found.size(), true, element.isEnabled());
+                }
+            }
+            return new ProbeResult(found.size(), false, found.get(0).isEnabled());
+        } catch (WebDriverException e) {
+            return new ProbeResult(found.size(), false, false);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * FrameworkListener - Starts the flight recording when the suite starts; when it finishes, prints the
+ * driver pool, network, browser process, locator, browser performance history and screenshot store
+ * summaries and flushes the framework's background writers so their files are complete before reports
+ * are read (shutdown hooks remain as a fallback)
+ */
+public class FrameworkListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        JfrEvents.startRecording();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverPool.printPoolSummary();
+        if (ConfigManager.NETWORK_CAPTURE) {
+            NetworkRecorder.printNetworkSummary();
+        }
+        if (ConfigManager.PROCESS_SAMPLING) {
+            ProcessSampler.printResourceSummary();
+        }
+        if (LocatorRegistry.hasLookups()) {
+            LocatorRegistry.printLocatorSummary();
+        }
+        if (BrowserPerformanceCollector.getCollectedCount() > 0) {
+            BrowserPerformanceCollector.printHistorySummary();
+        }
+        ScreenshotUtil.flush();
+        if (ScreenshotStore.getInstance().getCaptureCount() > 0) {
+            ScreenshotStore.getInstance().printStoreSummary();
+        }
+        TraceRecorder.close();
+        JfrEvents.stopRecording();
+        Log.flush();
+    }
+}
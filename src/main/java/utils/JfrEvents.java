@@ -0,0 +1,220 @@
+package utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * JfrEvents - JDK Flight Recorder events for tests, page-object actions, waits and screenshots
+ * Events are emitted whenever a recording is running (started here when jfr=true, or with
+ * -XX:StartFlightRecording), so GC, allocation and lock contention line up with test steps
+ * on one timeline in JDK Mission Control
+ */
+public class JfrEvents {
+
+    private static final String CATEGORY = "Payment Framework";
+
+    private static Recording recording;
+    private static File recordingFile;
+
+    /**
+     * Fields shared by every framework event; the test name is filled in on commit
+     */
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public abstract static class FrameworkEvent extends Event {
+        @Label("Test")
+        String testName;
+    }
+
+    @Name("payments.Test")
+    @Label("Test")
+    @Description("One test method invocation, from setup to teardown")
+    public static class TestEvent extends FrameworkEvent {
+        @Label("Test Id")
+        long testId;
+
+        @Label("Attempt")
+        int attempt;
+
+        @Label("Status")
+        String status;
+    }
+
+    @Name("payments.PageAction")
+    @Label("Page Action")
+    @Description("WebDriver command issued by a page-object method")
+    public static class PageActionEvent extends FrameworkEvent {
+        @Label("Action")
+        String action;
+
+        @Label("Command")
+        String command;
+    }
+
+    @Name("payments.Wait")
+    @Label("Wait")
+    @Description("Locator wait, DOM settle or page readiness wait")
+    public static class WaitEvent extends FrameworkEvent {
+        @Label("Kind")
+        String kind;
+
+        @Label("Target")
+        String target;
+    }
+
+    @Name("payments.Screenshot")
+    @Label("Screenshot")
+    @Description("Screenshot captured from the browser (stored later by a writer thread)")
+    public static class ScreenshotEvent extends FrameworkEvent {
+        @Label("Capture")
+        String file;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name("payments.ScreenshotWrite")
+    @Label("Screenshot Write")
+    @Description("Captured screenshot stored to disk by a writer thread")
+    public static class ScreenshotWriteEvent extends FrameworkEvent {
+        @Label("Capture")
+        String capture;
+
+        @Label("File")
+        String file;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+    }
+
+    /**
+     * Begin a wait event; commit it when the wait ends
+     */
+    public static WaitEvent beginWait(String kind, String target) {
+        WaitEvent event = new WaitEvent();
+        event.kind = kind;
+        event.target = target;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Begin a page action event; commit it when the command returns
+     */
+    public static PageActionEvent beginPageAction(String action, String command) {
+        PageActionEvent event = new PageActionEvent();
+        event.action = action;
+        event.command = command;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Begin a screenshot event; commit it once the PNG is captured
+     */
+    public static ScreenshotEvent beginScreenshot() {
+        ScreenshotEvent event = new ScreenshotEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Begin a screenshot write event; commit it once the file is written
+     */
+    public static ScreenshotWriteEvent beginScreenshotWrite(String capture, long bytes) {
+        ScreenshotWriteEvent event = new ScreenshotWriteEvent();
+        event.capture = capture;
+        event.bytes = bytes;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Begin the event of the test running on this thread
+     */
+    public static TestEvent beginTest() {
+        TestEvent event = new TestEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End an event and commit it, tagged with the current test, if a recording wants it
+     */
+    public static void commit(FrameworkEvent event) {
+        if (event == null) return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.testName = TestContext.currentTestName();
+            event.commit();
+        }
+    }
+
+    /**
+     * End an event finished on a thread outside the test (e.g. a writer) and commit it for the given test
+     */
+    public static void commit(FrameworkEvent event, String testName) {
+        if (event == null) return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.testName = testName;
+            event.commit();
+        }
+    }
+
+    /**
+     * Start the framework's own recording (jfr=true); does nothing if one is already running
+     */
+    public static synchronized void startRecording() {
+        if (!ConfigManager.JFR_RECORDING || recording != null) return;
+        try {
+            File directory = new File(ConfigManager.JFR_DIR);
+            directory.mkdirs();
+            recordingFile = new File(directory, "run-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".jfr");
+
+            recording = new Recording(Configuration.getConfiguration(ConfigManager.JFR_SETTINGS));
+            recording.setName("payment-tests");
+            recording.setToDisk(true);
+            recording.setDestination(recordingFile.toPath());
+            // Still written if the JVM exits before the suite finishes
+            recording.setDumpOnExit(true);
+            recording.start();
+            Log.info("🛩️  Flight recording started (" + ConfigManager.JFR_SETTINGS + " settings)");
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            Log.info("⚠️  Could not start flight recording: " + e.getMessage());
+            recording = null;
+        }
+    }
+
+    /**
+     * Stop the framework's recording and write the .jfr file
+     */
+    public static synchronized void stopRecording() {
+        if (recording == null) return;
+        try {
+            recording.stop();
+            Log.info("🛩️  Flight recording written to " + recordingFile.getPath()
+                + " - open in JDK Mission Control or with 'jfr print'");
+        } catch (IllegalStateException e) {
+            Log.info("⚠️  Could not write flight recording: " + e.getMessage());
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
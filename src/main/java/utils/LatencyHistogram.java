@@ -0,0 +1,194 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram - Fixed-memory, mergeable latency histogram with percentile queries
+ * Values are recorded in microseconds into log-linear buckets: exact below 32 us, then 32
+ * sub-buckets per power of two (about 3% relative error) up to ~19 hours; larger values are clamped
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 36;
+    private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Record a latency in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Record a latency in milliseconds
+     */
+    public void recordMillis(long millis) {
+        recordMicros(TimeUnit.MILLISECONDS.toMicros(millis));
+    }
+
+    /**
+     * Record a latency in microseconds
+     */
+    public void recordMicros(long micros) {
+        long value = Math.max(0, Math.min(MAX_VALUE, micros));
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalMicros.add(value);
+        updateMax(value);
+    }
+
+    private void updateMax(long value) {
+        long current;
+        while (value > (current = maxMicros.get())) {
+            if (maxMicros.compareAndSet(current, value)) return;
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    // Highest value that falls into a bucket
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    // Lowest value that falls into a bucket
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    /**
+     * Add every sample of another histogram to this one
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) counts.addAndGet(i, count);
+        }
+        totalCount.add(other.totalCount.sum());
+        totalMicros.add(other.totalMicros.sum());
+        updateMax(other.maxMicros.get());
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Get a percentile (0-100) in milliseconds, never above the recorded maximum
+     */
+    public double getPercentileMillis(double percentile) {
+        return getPercentileMicros(percentile) / 1000.0;
+    }
+
+    /**
+     * Get a percentile (0-100) in microseconds, never above the recorded maximum
+     */
+    public long getPercentileMicros(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * Count samples certainly above a value in microseconds (samples in its own bucket are not counted)
+     */
+    public long getCountAbove(long micros) {
+        long above = 0;
+        for (int i = BUCKETS - 1; i >= 0 && bucketLowerBound(i) > micros; i--) {
+            above += counts.get(i);
+        }
+        return above;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    public double getMeanMillis() {
+        long count = totalCount.sum();
+        return count > 0 ? totalMicros.sum() / 1000.0 / count : 0;
+    }
+
+    /**
+     * Encode as "max;sum;index:count,..." (non-empty buckets only) for storing between runs
+     */
+    public String encode() {
+        StringBuilder out = new StringBuilder();
+        out.append(maxMicros.get()).append(';').append(totalMicros.sum()).append(';');
+        boolean first = true;
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            if (count == 0) continue;
+            if (!first) out.append(',');
+            out.append(i).append(':').append(count);
+            first = false;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Decode a histogram written by encode()
+     */
+    public static LatencyHistogram decode(String encoded) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        String[] parts = encoded.trim().split(";", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid histogram encoding: " + encoded);
+        }
+        histogram.maxMicros.set(Long.parseLong(parts[0]));
+        histogram.totalMicros.add(Long.parseLong(parts[1]));
+        if (!parts[2].isEmpty()) {
+            for (String bucket : parts[2].split(",")) {
+                int colon = bucket.indexOf(':');
+                int index = Integer.parseInt(bucket.substring(0, colon));
+                long count = Long.parseLong(bucket.substring(colon + 1));
+                if (index < 0 || index >= BUCKETS) {
+                    throw new IllegalArgumentException("Histogram bucket out of range: " + index);
+                }
+                histogram.counts.addAndGet(index, count);
+                histogram.totalCount.add(count);
+            }
+        }
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d | p50 %.1f ms | p90 %.1f ms | p99 %.1f ms | max %.1f ms",
+            getCount(), getPercentileMillis(50), getPercentileMillis(90), getPercentileMillis(99), getMaxMillis());
+    }
+}
@@ -0,0 +1,155 @@
+package utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LocatorRegistry - Remembers which alternative of a SmartLocator matched in each environment
+ * Persists the preferred alternative across runs and collects per-alternative hit rates and lookup latency
+ */
+public class LocatorRegistry {
+
+    private static final File REGISTRY_FILE = new File(ConfigManager.PERF_HISTORY_DIR, "locators.properties");
+
+    private static final Map<String, Integer> preferred = new ConcurrentHashMap<>();
+    private static final Map<String, AlternativeStats> stats = new ConcurrentHashMap<>();
+    private static volatile boolean dirty = false;
+
+    static {
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(LocatorRegistry::save, "locator-registry-save"));
+    }
+
+    /**
+     * Lookup statistics for one alternative of a locator
+     */
+    private static class AlternativeStats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+    }
+
+    /**
+     * Get the alternative index to try first for a locator in the current environment, or -1
+     */
+    public static int getPreferred(String locatorName) {
+        return preferred.getOrDefault(environmentKey(locatorName), -1);
+    }
+
+    /**
+     * Remember the alternative that matched for a locator in the current environment
+     */
+    public static void remember(String locatorName, int alternative) {
+        Integer previous = preferred.put(environmentKey(locatorName), alternative);
+        if (previous == null || previous != alternative) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Record the outcome and latency of one alternative lookup
+     */
+    public static void recordLookup(String locatorName, int alternative, boolean matched, long nanos) {
+        AlternativeStats entry = stats.computeIfAbsent(locatorName + "#" + alternative, key -> new AlternativeStats());
+        if (matched) {
+            entry.hits.increment();
+        } else {
+            entry.misses.increment();
+        }
+        entry.totalNanos.add(nanos);
+    }
+
+    /**
+     * Get hit rate of an alternative as a percentage
+     */
+    public static double getHitRate(String locatorName, int alternative) {
+        AlternativeStats entry = stats.get(locatorName + "#" + alternative);
+        if (entry == null) return 0;
+        long total = entry.hits.sum() + entry.misses.sum();
+        return total > 0 ? entry.hits.sum() * 100.0 / total : 0;
+    }
+
+    private static String environmentKey(String locatorName) {
+        return ConfigManager.ENVIRONMENT.toLowerCase() + "." + locatorName;
+    }
+
+    /**
+     * Load preferred alternatives saved by earlier runs
+     */
+    private static void load() {
+        if (!REGISTRY_FILE.exists()) return;
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(REGISTRY_FILE)) {
+            properties.load(in);
+        } catch (IOException e) {
+            Log.info("⚠️  Could not read locator registry: " + e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                preferred.put(key, Integer.parseInt(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                // skip corrupt entry
+            }
+        }
+    }
+
+    /**
+     * Save preferred alternatives for the next run
+     */
+    public static synchronized void save() {
+        if (!dirty) return;
+        Properties properties = new Properties();
+        for (Map.Entry<String, Integer> entry : preferred.entrySet()) {
+            properties.setProperty(entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        REGISTRY_FILE.getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(REGISTRY_FILE)) {
+            properties.store(out, "Preferred locator alternative per <environment>.<locator>");
+            dirty = false;
+        } catch (IOException e) {
+            Log.info("⚠️  Could not save locator registry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Whether any alternative lookup was recorded in this run
+     */
+    public static boolean hasLookups() {
+        return !stats.isEmpty();
+    }
+
+    /**
+     * Get per-alternative hit rates and lookup latency as report
+     */
+    public static String getLocatorReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("\n=== Locator Alternatives ===\n");
+        for (Map.Entry<String, AlternativeStats> entry : new TreeMap<>(stats).entrySet()) {
+            AlternativeStats alternative = entry.getValue();
+            long hits = alternative.hits.sum();
+            long lookups = hits + alternative.misses.sum();
+            report.append(String.format("%-45s: %4d lookups | hit rate %5.1f%% | avg %6.2f ms%n",
+                entry.getKey(), lookups, lookups > 0 ? hits * 100.0 / lookups : 0,
+                lookups > 0 ? alternative.totalNanos.sum() / 1_000_000.0 / lookups : 0));
+        }
+        report.append("============================\n");
+        return report.toString();
+    }
+
+    /**
+     * Print locator summary
+     */
+    public static void printLocatorSummary() {
+        Log.info(getLocatorReport());
+    }
+}
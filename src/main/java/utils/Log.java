@@ -0,0 +1,327 @@
+package utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log - Asynchronous console and per-test file logging
+ * Each thread appends lines to its own bounded buffer; a background writer formats them, tags
+ * them with time, thread and test, and writes whole lines to the console and to
+ * logs/<test>-<id>.log, so parallel tests neither contend on stdout nor interleave mid-line.
+ * Test ids restart with every run, so a run overwrites the files of the ids it reuses
+ */
+public class Log {
+
+    private static final int BUFFER_LINES = Math.max(16, ConfigManager.LOG_BUFFER_LINES);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final List<ThreadBuffer> buffers = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<ThreadBuffer> buffer = ThreadLocal.withInitial(Log::register);
+    private static final LongAdder enqueued = new LongAdder();
+    // Tests whose log file this run has started; files of other ids are left over from earlier runs
+    private static final Set<Long> runTestIds = ConcurrentHashMap.newKeySet();
+    private static volatile long written;
+    private static volatile Thread writer;
+    private static volatile boolean closed;
+
+    /**
+     * One logged line (or end-of-test marker); formatted on the writer thread
+     */
+    private static class Entry {
+        final long millis;
+        final TestContext test;
+        final String format;
+        final Object[] args;
+
+        Entry(long millis, TestContext test, String format, Object[] args) {
+            this.millis = millis;
+            this.test = test;
+            this.format = format;
+            this.args = args;
+        }
+
+        boolean isEndOfTest() {
+            return format == null;
+        }
+
+        String message() {
+            return args == null || args.length == 0 ? format : String.format(format, args);
+        }
+    }
+
+    /**
+     * Lines from one thread waiting for the writer
+     */
+    private static class ThreadBuffer {
+        final Thread owner = Thread.currentThread();
+        final String threadName = owner.getName();
+        final ArrayBlockingQueue<Entry> lines = new ArrayBlockingQueue<>(BUFFER_LINES);
+    }
+
+    /**
+     * Log a line
+     */
+    public static void info(String message) {
+        enqueue(message, null);
+    }
+
+    /**
+     * Log a formatted line; args are formatted later on the writer thread, so pass values, not mutable objects
+     */
+    public static void info(String format, Object... args) {
+        enqueue(format, args);
+    }
+
+    /**
+     * Log a line only when detailed logging is on
+     */
+    public static void detail(String message) {
+        if (ConfigManager.DETAILED_LOGGING) {
+            enqueue(message, null);
+        }
+    }
+
+    /**
+     * Log a formatted line only when detailed logging is on; nothing is formatted when it is off
+     */
+    public static void detail(String format, Object... args) {
+        if (ConfigManager.DETAILED_LOGGING) {
+            enqueue(format, args);
+        }
+    }
+
+    /**
+     * Close the current test's log file once its buffered lines are written (call when a test ends)
+     */
+    public static void endTest() {
+        TestContext test = TestContext.get();
+        if (test != null) {
+            enqueue(new Entry(0, test, null, null));
+        }
+    }
+
+    private static void enqueue(String format, Object[] args) {
+        enqueue(new Entry(System.currentTimeMillis(), TestContext.get(), format == null ? "null" : format, args));
+    }
+
+    private static void enqueue(Entry entry) {
+        if (closed || !ensureWriter()) {
+            writeDirect(entry);
+            return;
+        }
+        ThreadBuffer lines = buffer.get();
+        enqueued.increment();
+        if (lines.lines.offer(entry)) return;
+
+        // Buffer full: wake the writer and wait for room rather than dropping the line
+        LockSupport.unpark(writer);
+        try {
+            if (lines.lines.offer(entry, 5, TimeUnit.SECONDS)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        enqueued.decrement();
+        writeDirect(entry);
+    }
+
+    private static ThreadBuffer register() {
+        ThreadBuffer threadBuffer = new ThreadBuffer();
+        buffers.add(threadBuffer);
+        return threadBuffer;
+    }
+
+    private static boolean ensureWriter() {
+        if (writer != null) return true;
+        synchronized (Log.class) {
+            if (writer == null && !closed) {
+                Thread thread = new Thread(Log::writeLines, "log-writer");
+                thread.setDaemon(true);
+                thread.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(Log::close, "log-close"));
+                writer = thread;
+            }
+            return writer != null;
+        }
+    }
+
+    private static void writeLines() {
+        Map<Long, Writer> files = new HashMap<>();
+        StringBuilder console = new StringBuilder(4096);
+        long count = 0;
+        while (true) {
+            boolean stopping = closed;
+            for (ThreadBuffer threadBuffer : buffers) {
+                Entry entry;
+                while ((entry = threadBuffer.lines.poll()) != null) {
+                    if (entry.isEndOfTest()) {
+                        closeFile(files.remove(entry.test.getTestId()));
+                    } else {
+                        writeEntry(entry, threadBuffer.threadName, console, files);
+                    }
+                    count++;
+                }
+                if (!threadBuffer.owner.isAlive() && threadBuffer.lines.isEmpty()) {
+                    buffers.remove(threadBuffer);
+                }
+            }
+            if (console.length() > 0) {
+                System.out.print(console);
+                System.out.flush();
+                console.setLength(0);
+            }
+            written = count;
+            if (stopping) break;
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        for (Writer file : files.values()) {
+            closeFile(file);
+        }
+    }
+
+    private static void writeEntry(Entry entry, String threadName, StringBuilder console, Map<Long, Writer> files) {
+        String line = format(entry, threadName);
+        console.append(line);
+        if (entry.test == null || !ConfigManager.LOG_TO_FILE) return;
+
+        Writer file = files.get(entry.test.getTestId());
+        try {
+            if (file == null) {
+                File logFile = getTestLogFile(entry.test);
+                logFile.getParentFile().mkdirs();
+                boolean firstOpen = runTestIds.add(entry.test.getTestId());
+                file = Files.newBufferedWriter(logFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, firstOpen ? StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND);
+                files.put(entry.test.getTestId(), file);
+            }
+            file.write(line);
+        } catch (IOException e) {
+            console.append("⚠️  Could not write test log: ").append(e.getMessage()).append('\n');
+        }
+    }
+
+    /**
+     * Format a line as "HH:mm:ss.SSS [thread] Test#id message"; leading blank lines stay above the tag
+     */
+    private static String format(Entry entry, String threadName) {
+        String message = entry.message();
+        int start = 0;
+        while (start < message.length() && message.charAt(start) == '\n') {
+            start++;
+        }
+        StringBuilder line = new StringBuilder(message.length() + 64);
+        line.append(message, 0, start)
+            .append(TIME.format(LocalTime.from(Instant.ofEpochMilli(entry.millis).atZone(ZONE))))
+            .append(" [").append(threadName).append("] ");
+        if (entry.test != null) {
+            line.append(entry.test).append(' ');
+        }
+        return line.append(message, start, message.length()).append('\n').toString();
+    }
+
+    private static void writeDirect(Entry entry) {
+        if (entry.isEndOfTest()) return;
+        System.out.print(format(entry, Thread.currentThread().getName()));
+    }
+
+    private static void closeFile(Writer file) {
+        if (file == null) return;
+        try {
+            file.close();
+        } catch (IOException e) {
+            // nothing more to write
+        }
+    }
+
+    /**
+     * Wait until every line logged so far has been written
+     */
+    public static void flush() {
+        Thread current = writer;
+        if (current == null) return;
+        long target = enqueued.sum();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (written < target && current.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(current);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Write out every buffered line and close the test log files; later lines go straight to the console
+     */
+    public static synchronized void close() {
+        Thread current = writer;
+        if (current == null || closed) return;
+        flush();
+        closed = true;
+        LockSupport.unpark(current);
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the log file of one test invocation
+     */
+    public static File getTestLogFile(TestContext test) {
+        String name = test.getTestName().replaceAll("[^A-Za-z0-9._-]", "_") + "-" + test.getTestId() + ".log";
+        return new File(ConfigManager.LOG_DIR, name);
+    }
+
+    /**
+     * Read back the log lines of every invocation (including retries) of a test in this run, in run order
+     */
+    public static List<String> readTestLog(String testName) {
+        flush();
+        String prefix = testName.replaceAll("[^A-Za-z0-9._-]", "_") + "-";
+        File[] files = new File(ConfigManager.LOG_DIR).listFiles(
+            (dir, name) -> name.startsWith(prefix) && name.endsWith(".log"));
+        List<String> lines = new ArrayList<>();
+        if (files == null) return lines;
+
+        Map<Long, File> byId = new TreeMap<>();
+        for (File file : files) {
+            String id = file.getName().substring(prefix.length(), file.getName().length() - ".log".length());
+            try {
+                long testId = Long.parseLong(id);
+                if (runTestIds.contains(testId)) {
+                    byId.put(testId, file);
+                }
+            } catch (NumberFormatException e) {
+                // another test whose name starts with this one
+            }
+        }
+        for (File file : byId.values()) {
+            try {
+                lines.addAll(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                lines.add("⚠️  Could not read " + file.getPath() + ": " + e.getMessage());
+            }
+        }
+        return lines;
+    }
+}
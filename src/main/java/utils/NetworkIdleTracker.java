@@ -0,0 +1,112 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NetworkIdleTracker - Counts in-flight browser requests from CDP Network events
+ * Used by PageReadiness to decide when a page has stopped loading
+ */
+public class NetworkIdleTracker {
+
+    // Requests open longer than this (long-polling, analytics beacons) are treated as background traffic
+    private static final long STALE_REQUEST_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    // Network counts as idle with this many requests still open (like "networkidle2")
+    private static final int IDLE_MAX_IN_FLIGHT = ConfigManager.NETWORK_IDLE_MAX_IN_FLIGHT;
+
+    private static final Map<WebDriver, NetworkIdleTracker> trackers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private volatile long lastBusyNanos = System.nanoTime();
+
+    /**
+     * Start tracking a session's network activity; returns null without CDP support
+     */
+    public static NetworkIdleTracker attach(WebDriver driver) {
+        WebDriver raw = CdpEvents.unwrap(driver);
+        synchronized (trackers) {
+            NetworkIdleTracker tracker = trackers.get(raw);
+            if (tracker != null) return tracker;
+
+            CdpEvents events = CdpEvents.forDriver(raw);
+            if (events == null) return null;
+            try {
+                tracker = new NetworkIdleTracker();
+                NetworkIdleTracker target = tracker;
+                events.subscribe("Network.requestWillBeSent", params -> target.started(params));
+                events.subscribe("Network.loadingFinished", params -> target.finished(params));
+                events.subscribe("Network.loadingFailed", params -> target.finished(params));
+                events.enable("Network");
+            } catch (RuntimeException e) {
+                Log.info("⚠️  Network idle tracking unavailable: " + e.getMessage());
+                return null;
+            }
+            trackers.put(raw, tracker);
+            return tracker;
+        }
+    }
+
+    /**
+     * Stop tracking a session that is being quit
+     */
+    public static void detach(WebDriver driver) {
+        trackers.remove(CdpEvents.unwrap(driver));
+    }
+
+    private void started(Map<String, Object> params) {
+        Object requestId = params.get("requestId");
+        if (requestId != null) {
+            inFlight.put(requestId.toString(), System.nanoTime());
+        }
+        markIfBusy();
+    }
+
+    private void finished(Map<String, Object> params) {
+        Object requestId = params.get("requestId");
+        if (requestId != null) {
+            inFlight.remove(requestId.toString());
+        }
+        markIfBusy();
+    }
+
+    private void markIfBusy() {
+        if (getInFlightCount() > IDLE_MAX_IN_FLIGHT) {
+            lastBusyNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Get the number of requests currently in flight, ignoring stale long-lived ones
+     */
+    public int getInFlightCount() {
+        long now = System.nanoTime();
+        int count = 0;
+        Iterator<Long> starts = inFlight.values().iterator();
+        while (starts.hasNext()) {
+            if (now - starts.next() > STALE_REQUEST_NANOS) {
+                starts.remove();
+            } else {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Check whether the in-flight count has stayed at or below the idle limit for the whole quiet window
+     */
+    public boolean isIdle(long quietMillis) {
+        if (getInFlightCount() > IDLE_MAX_IN_FLIGHT) {
+            lastBusyNanos = System.nanoTime();
+            return false;
+        }
+        return System.nanoTime() - lastBusyNanos >= TimeUnit.MILLISECONDS.toNanos(quietMillis);
+    }
+}
@@ -0,0 +1,471 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * NetworkRecorder - Streams every browser request of a test to disk from CDP Network events
+ * Each finished request becomes one HAR entry (with its DNS/connect/TLS/wait/receive breakdown)
+ * written as a JSONL line by a background thread; a HAR file is assembled from the JSONL when
+ * the recorder closes. Open requests and queued entries are bounded so long runs keep a flat heap,
+ * and latencies are aggregated per host and per endpoint across all tests
+ */
+public class NetworkRecorder implements AutoCloseable {
+
+    private static final int MAX_ENDPOINTS = 1000;
+    private static final String OTHER_ENDPOINTS = "(other endpoints)";
+    private static final int REPORT_ROWS = 20;
+    // Path segments that are ids (numbers, hex or UUID-like tokens) are collapsed so endpoints group
+    private static final Pattern ID_SEGMENT = Pattern.compile("\\d+|[0-9a-fA-F-]{16,}");
+    private static final Map<String, Object> END_OF_STREAM = Collections.emptyMap();
+
+    private static final Map<String, LatencyHistogram> hostLatency = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> endpointLatency = new ConcurrentHashMap<>();
+    private static final LongAdder totalRecorded = new LongAdder();
+    private static final LongAdder totalDropped = new LongAdder();
+    private static final LongAdder totalEvicted = new LongAdder();
+
+    private final String name;
+    private final File jsonlFile;
+    private final Map<String, PendingRequest> inFlight;
+    private final BlockingQueue<Map<String, Object>> queue = new ArrayBlockingQueue<>(ConfigManager.NETWORK_QUEUE_CAPACITY);
+    private final List<CdpEvents.Subscription> subscriptions = new ArrayList<>();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+
+    /**
+     * A request seen in requestWillBeSent that has not finished yet
+     */
+    private static class PendingRequest {
+        final String method;
+        final String url;
+        final String resourceType;
+        final long startedMillis;
+        final double startTimestamp;
+        Map<?, ?> response;
+
+        PendingRequest(String method, String url, String resourceType, long startedMillis, double startTimestamp) {
+            this.method = method;
+            this.url = url;
+            this.resourceType = resourceType;
+            this.startedMillis = startedMillis;
+            this.startTimestamp = startTimestamp;
+        }
+    }
+
+    private NetworkRecorder(String name, File jsonlFile) {
+        this.name = name;
+        this.jsonlFile = jsonlFile;
+        int maxInFlight = ConfigManager.NETWORK_MAX_IN_FLIGHT;
+        this.inFlight = Collections.synchronizedMap(new LinkedHashMap<String, PendingRequest>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PendingRequest> eldest) {
+                if (size() <= maxInFlight) return false;
+                totalEvicted.increment();
+                return true;
+            }
+        });
+        this.writer = new Thread(this::writeEntries, "network-recorder-" + name);
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Start recording a session's requests to <NETWORK_CAPTURE_DIR>/<name>.jsonl; returns null without CDP support
+     */
+    public static NetworkRecorder start(WebDriver driver, String name) {
+        CdpEvents events = CdpEvents.forDriver(driver);
+        if (events == null) {
+            Log.info("⚠️  Network capture unavailable for " + name + " (no DevTools support)");
+            return null;
+        }
+
+        File directory = new File(ConfigManager.NETWORK_CAPTURE_DIR);
+        directory.mkdirs();
+        String fileName = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        NetworkRecorder recorder = new NetworkRecorder(name, new File(directory, fileName + ".jsonl"));
+        recorder.writer.start();
+        try {
+            recorder.subscriptions.add(events.subscribe("Network.requestWillBeSent", recorder::requestWillBeSent));
+            recorder.subscriptions.add(events.subscribe("Network.responseReceived", recorder::responseReceived));
+            recorder.subscriptions.add(events.subscribe("Network.loadingFinished", recorder::loadingFinished));
+            recorder.subscriptions.add(events.subscribe("Network.loadingFailed", recorder::loadingFailed));
+            events.enable("Network");
+        } catch (RuntimeException e) {
+            Log.info("⚠️  Network capture unavailable for " + name + ": " + e.getMessage());
+            recorder.close();
+            return null;
+        }
+        return recorder;
+    }
+
+    // CDP event handlers run on the DevTools connection thread: bookkeeping and a non-blocking offer only
+
+    private void requestWillBeSent(Map<String, Object> params) {
+        String requestId = String.valueOf(params.get("requestId"));
+        Map<?, ?> request = (Map<?, ?>) params.get("request");
+        double timestamp = number(params.get("timestamp"));
+
+        // A redirect reuses the request id: the previous hop ends here with the redirect response
+        Object redirectResponse = params.get("redirectResponse");
+        if (redirectResponse instanceof Map) {
+            PendingRequest previous = inFlight.remove(requestId);
+            if (previous != null) {
+                previous.response = (Map<?, ?>) redirectResponse;
+                complete(previous, timestamp, 0, null);
+            }
+        }
+
+        long wallMillis = params.get("wallTime") != null
+            ? (long) (number(params.get("wallTime")) * 1000) : System.currentTimeMillis();
+        inFlight.put(requestId, new PendingRequest(String.valueOf(request.get("method")),
+            String.valueOf(request.get("url")), String.valueOf(params.get("type")), wallMillis, timestamp));
+    }
+
+    private void responseReceived(Map<String, Object> params) {
+        PendingRequest pending = inFlight.get(String.valueOf(params.get("requestId")));
+        if (pending != null) {
+            pending.response = (Map<?, ?>) params.get("response");
+        }
+    }
+
+    private void loadingFinished(Map<String, Object> params) {
+        PendingRequest pending = inFlight.remove(String.valueOf(params.get("requestId")));
+        if (pending != null) {
+            complete(pending, number(params.get("timestamp")), (long) number(params.get("encodedDataLength")), null);
+        }
+    }
+
+    private void loadingFailed(Map<String, Object> params) {
+        PendingRequest pending = inFlight.remove(String.valueOf(params.get("requestId")));
+        if (pending != null) {
+            complete(pending, number(params.get("timestamp")), 0, String.valueOf(params.get("errorText")));
+        }
+    }
+
+    private void complete(PendingRequest pending, double endTimestamp, long bytes, String error) {
+        double totalMillis = Math.max(0, (endTimestamp - pending.startTimestamp) * 1000);
+        String host = hostOf(pending.url);
+        if (host != null) {
+            long micros = (long) (totalMillis * 1000);
+            hostLatency.computeIfAbsent(host, key -> new LatencyHistogram()).recordMicros(micros);
+            endpointLatency.computeIfAbsent(endpointKey(pending.method, pending.url), key -> new LatencyHistogram())
+                .recordMicros(micros);
+        }
+
+        recorded.increment();
+        totalRecorded.increment();
+        if (!queue.offer(toHarEntry(pending, endTimestamp, totalMillis, bytes, error, host))) {
+            // Writer cannot keep up: drop rather than block the DevTools thread or grow the heap
+            dropped.increment();
+            totalDropped.increment();
+        }
+    }
+
+    private static Map<String, Object> toHarEntry(PendingRequest pending, double endTimestamp, double totalMillis,
+                                                  long bytes, String error, String host) {
+        Map<?, ?> response = pending.response != null ? pending.response : Collections.emptyMap();
+        String protocol = response.get("protocol") != null ? String.valueOf(response.get("protocol")) : "";
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("method", pending.method);
+        request.put("url", pending.url);
+        request.put("httpVersion", protocol);
+        request.put("cookies", Collections.emptyList());
+        request.put("headers", Collections.emptyList());
+        request.put("queryString", Collections.emptyList());
+        request.put("headersSize", -1);
+        request.put("bodySize", -1);
+
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("size", bytes);
+        content.put("mimeType", response.get("mimeType") != null ? response.get("mimeType") : "");
+
+        Map<String, Object> harResponse = new LinkedHashMap<>();
+        harResponse.put("status", response.get("status") != null ? (long) number(response.get("status")) : 0);
+        harResponse.put("statusText", response.get("statusText") != null ? response.get("statusText") : "");
+        harResponse.put("httpVersion", protocol);
+        harResponse.put("cookies", Collections.emptyList());
+        harResponse.put("headers", Collections.emptyList());
+        harResponse.put("content", content);
+        harResponse.put("redirectURL", "");
+        harResponse.put("headersSize", -1);
+        harResponse.put("bodySize", bytes);
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("startedDateTime", Instant.ofEpochMilli(pending.startedMillis).toString());
+        entry.put("time", round(totalMillis));
+        entry.put("request", request);
+        entry.put("response", harResponse);
+        entry.put("cache", Collections.emptyMap());
+        entry.put("timings", timings(response.get("timing"), endTimestamp, totalMillis));
+        if (response.get("remoteIPAddress") != null) {
+            entry.put("serverIPAddress", response.get("remoteIPAddress"));
+        }
+        entry.put("_resourceType", pending.resourceType);
+        if (host != null) {
+            entry.put("_host", host);
+        }
+        if (error != null) {
+            entry.put("_error", error);
+        }
+        return entry;
+    }
+
+    /**
+     * HAR phase breakdown from the CDP ResourceTiming of the response (offsets in ms from requestTime)
+     */
+    private static Map<String, Object> timings(Object rawTiming, double endTimestamp, double totalMillis) {
+        Map<String, Object> timings = new LinkedHashMap<>();
+        if (!(rawTiming instanceof Map)) {
+            timings.put("send", 0);
+            timings.put("wait", round(totalMillis));
+            timings.put("receive", 0);
+            return timings;
+        }
+        Map<?, ?> timing = (Map<?, ?>) rawTiming;
+        double dnsStart = offset(timing, "dnsStart");
+        double connectStart = offset(timing, "connectStart");
+        double sslStart = offset(timing, "sslStart");
+        double sendStart = offset(timing, "sendStart");
+        double sendEnd = offset(timing, "sendEnd");
+        double headersEnd = offset(timing, "receiveHeadersEnd");
+
+        double firstPhase = dnsStart >= 0 ? dnsStart : connectStart >= 0 ? connectStart : sendStart;
+        timings.put("blocked", round(firstPhase));
+        timings.put("dns", dnsStart >= 0 ? round(offset(timing, "dnsEnd") - dnsStart) : -1);
+        timings.put("connect", connectStart >= 0 ? round(offset(timing, "connectEnd") - connectStart) : -1);
+        timings.put("ssl", sslStart >= 0 ? round(offset(timing, "sslEnd") - sslStart) : -1);
+        timings.put("send", round(Math.max(0, sendEnd - sendStart)));
+        timings.put("wait", round(Math.max(0, headersEnd - sendEnd)));
+        double requestTime = number(timing.get("requestTime"));
+        timings.put("receive", round(Math.max(0, (endTimestamp - requestTime) * 1000 - headersEnd)));
+        return timings;
+    }
+
+    private static double offset(Map<?, ?> timing, String key) {
+        Object value = timing.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+
+    private static String hostOf(String url) {
+        if (!url.startsWith("http")) return null;
+        try {
+            return new URI(url).getHost();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Group requests by method, host and path with id-like segments collapsed (query dropped)
+     */
+    static String endpointKey(String method, String url) {
+        String path;
+        String host;
+        try {
+            URI uri = new URI(url);
+            host = uri.getHost();
+            path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        } catch (URISyntaxException e) {
+            return OTHER_ENDPOINTS;
+        }
+        StringBuilder key = new StringBuilder(method).append(' ').append(host);
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            key.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        String endpoint = key.toString();
+        if (!endpointLatency.containsKey(endpoint) && endpointLatency.size() >= MAX_ENDPOINTS) {
+            return OTHER_ENDPOINTS;
+        }
+        return endpoint;
+    }
+
+    /**
+     * Background writer: one JSON line per entry, flushed whenever the queue runs dry
+     */
+    private void writeEntries() {
+        Json json = new Json();
+        try (BufferedWriter out = Files.newBufferedWriter(jsonlFile.toPath(), StandardCharsets.UTF_8)) {
+            while (true) {
+                Map<String, Object> entry = queue.take();
+                if (entry == END_OF_STREAM) break;
+                writeLine(json, out, entry);
+                if (queue.isEmpty()) out.flush();
+            }
+        } catch (IOException e) {
+            Log.info("⚠️  Network capture for " + name + " stopped: " + e.getMessage());
+            queue.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void writeLine(Json json, Writer out, Map<String, Object> entry) throws IOException {
+        try (JsonOutput line = json.newOutput(new NonClosingWriter(out))) {
+            line.setPrettyPrint(false).write(entry);
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Stop recording, flush the JSONL file and (if enabled) write the HAR file next to it
+     */
+    @Override
+    public void close() {
+        for (CdpEvents.Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+        subscriptions.clear();
+        int unfinished = inFlight.size();
+        inFlight.clear();
+
+        try {
+            // A writer that stopped on an I/O error no longer drains the queue, so never block on it
+            if (writer.isAlive() && queue.offer(END_OF_STREAM, 30, TimeUnit.SECONDS)) {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        File harFile = null;
+        if (ConfigManager.NETWORK_CAPTURE_HAR && jsonlFile.exists()) {
+            harFile = new File(jsonlFile.getParentFile(), jsonlFile.getName().replaceAll("\\.jsonl$", ".har"));
+            try {
+                exportHar(jsonlFile, harFile);
+            } catch (IOException e) {
+                Log.info("⚠️  Could not write HAR for " + name + ": " + e.getMessage());
+                harFile = null;
+            }
+        }
+        Log.info("🌐 %s: %d requests recorded, %d dropped, %d unfinished -> %s",
+            name, recorded.sum(), dropped.sum(), unfinished, harFile != null ? harFile : jsonlFile);
+    }
+
+    /**
+     * Assemble a HAR 1.2 file from recorded JSONL entries, streaming line by line
+     */
+    public static void exportHar(File jsonl, File har) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(jsonl.toPath(), StandardCharsets.UTF_8);
+             BufferedWriter out = Files.newBufferedWriter(har.toPath(), StandardCharsets.UTF_8)) {
+            out.write("{\"log\":{\"version\":\"1.2\",\"creator\":{\"name\":\"timesprime-payment-automation\",\"version\":\"1.0\"},");
+            out.write("\"pages\":[],\"entries\":[\n");
+            boolean first = true;
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                if (!first) out.write(",\n");
+                out.write(line);
+                first = false;
+            }
+            out.write("\n]}}\n");
+        }
+    }
+
+    /**
+     * Get request latency per host across all recorded tests
+     */
+    public static Map<String, LatencyHistogram> getHostLatency() {
+        return Collections.unmodifiableMap(hostLatency);
+    }
+
+    /**
+     * Get request latency per endpoint ("METHOD host/path") across all recorded tests
+     */
+    public static Map<String, LatencyHistogram> getEndpointLatency() {
+        return Collections.unmodifiableMap(endpointLatency);
+    }
+
+    /**
+     * Get per-host latency and the slowest endpoints (by p90) as report
+     */
+    public static String getNetworkReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("\n=== Network Summary ===\n");
+        report.append(String.format("Requests: %d | Dropped: %d | Evicted (never finished): %d%n",
+            totalRecorded.sum(), totalDropped.sum(), totalEvicted.sum()));
+
+        report.append("\nBy host:\n");
+        appendRows(report, hostLatency);
+        report.append("\nSlowest endpoints (p90):\n");
+        appendRows(report, endpointLatency);
+        report.append("=======================\n");
+        return report.toString();
+    }
+
+    private static void appendRows(StringBuilder report, Map<String, LatencyHistogram> latency) {
+        List<Map.Entry<String, LatencyHistogram>> rows = new ArrayList<>(latency.entrySet());
+        rows.sort(Comparator.comparingDouble(
+            (Map.Entry<String, LatencyHistogram> row) -> row.getValue().getPercentileMillis(90)).reversed());
+        for (Map.Entry<String, LatencyHistogram> row : rows.subList(0, Math.min(REPORT_ROWS, rows.size()))) {
+            report.append(String.format("  %-60s: %s%n", row.getKey(), row.getValue()));
+        }
+    }
+
+    /**
+     * Print network summary
+     */
+    public static void printNetworkSummary() {
+        Log.info(getNetworkReport());
+    }
+
+    /**
+     * Lets a JsonOutput write one value to a shared writer without closing it
+     */
+    private static class NonClosingWriter extends Writer {
+        private final Writer target;
+
+        NonClosingWriter(Writer target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            target.write(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            // flushed by the writer loop
+        }
+
+        @Override
+        public void close() {
+            // owned by the writer loop
+        }
+    }
+}
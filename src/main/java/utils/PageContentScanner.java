@@ -0,0 +1,195 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * PageContentScanner - Finds keywords on the current page in one pass
+ * Searches inside the browser and transfers only the matched keywords; falls back to a
+ * case-insensitive multi-pattern (Aho-Corasick) scan of the page source without lowercased copies
+ */
+public class PageContentScanner {
+
+    /**
+     * What part of the page to search
+     */
+    public enum Scope {
+        // Text a user can see (document.body.innerText)
+        VISIBLE_TEXT,
+        // Full serialized DOM, like driver.getPageSource()
+        SOURCE
+    }
+
+    // One forward pass: a case-insensitive alternation of the pending keywords finds the next match,
+    // every pending keyword starting there is marked found, and the search resumes at the same position
+    // with those removed. The text is never copied or lowercased; empty keywords never match
+    private static final String SCAN_SCRIPT =
+        "var scope = arguments[0], keywords = arguments[1];" +
+        "var root = document.documentElement;" +
+        "if (!root) return [];" +
+        "var text = scope === 'VISIBLE_TEXT' ? (document.body ? document.body.innerText : '') : root.outerHTML;" +
+        "var pending = [], seen = {};" +
+        "for (var i = 0; i < keywords.length; i++) {" +
+        "  var lower = keywords[i].toLowerCase();" +
+        "  if (lower && !seen.hasOwnProperty(lower)) { seen[lower] = false; pending.push(lower); }" +
+        "}" +
+        "function escape(k) { return k.replace(/[.*+?^${}()|[\\]\\\\]/g, '\\\\$&'); }" +
+        "var from = 0;" +
+        "while (pending.length) {" +
+        "  var pattern = new RegExp(pending.map(escape).join('|'), 'gi');" +
+        "  pattern.lastIndex = from;" +
+        "  var match = pattern.exec(text);" +
+        "  if (!match) break;" +
+        "  var at = match.index, rest = [];" +
+        "  for (var j = 0; j < pending.length; j++) {" +
+        "    if (text.substr(at, pending[j].length).toLowerCase() === pending[j]) seen[pending[j]] = true;" +
+        "    else rest.push(pending[j]);" +
+        "  }" +
+        "  from = rest.length === pending.length ? at + 1 : at;" +
+        "  pending = rest;" +
+        "}" +
+        "var found = [];" +
+        "for (var n = 0; n < keywords.length; n++) {" +
+        "  if (seen[keywords[n].toLowerCase()] === true) found.push(keywords[n]);" +
+        "}" +
+        "return found;";
+
+    private static final String LENGTH_SCRIPT =
+        "var scope = arguments[0];" +
+        "if (scope === 'VISIBLE_TEXT') return document.body ? document.body.innerText.length : 0;" +
+        "return document.documentElement ? document.documentElement.outerHTML.length : 0;";
+
+    /**
+     * Get the keywords (case-insensitive) that occur on the page
+     */
+    public static Set<String> scan(WebDriver driver, Scope scope, String... keywords) {
+        if (keywords.length == 0) return Collections.emptySet();
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(SCAN_SCRIPT, scope.name(), Arrays.asList(keywords));
+            Set<String> found = new LinkedHashSet<>();
+            for (Object keyword : (List<?>) result) {
+                found.add(String.valueOf(keyword));
+            }
+            return found;
+        } catch (WebDriverException | ClassCastException e) {
+            // Script blocked (e.g. non-HTML document) - scan the source in the JVM instead
+            return new KeywordMatcher(keywords).findAll(driver.getPageSource());
+        }
+    }
+
+    /**
+     * Check whether any keyword occurs on the page
+     */
+    public static boolean containsAny(WebDriver driver, Scope scope, String... keywords) {
+        return !scan(driver, scope, keywords).isEmpty();
+    }
+
+    /**
+     * Get the length of the page content without transferring it
+     */
+    public static long contentLength(WebDriver driver, Scope scope) {
+        Object length = ((JavascriptExecutor) driver).executeScript(LENGTH_SCRIPT, scope.name());
+        return length instanceof Number ? ((Number) length).longValue() : 0;
+    }
+
+    /**
+     * Case-insensitive Aho-Corasick matcher: one pass over the text for any number of keywords
+     */
+    public static class KeywordMatcher {
+
+        private static class Node {
+            final Map<Character, Node> next = new HashMap<>();
+            Node fail;
+            // keyword indexes ending here, including those inherited through fail links
+            int[] outputs = new int[0];
+        }
+
+        private final String[] keywords;
+        private final Node root = new Node();
+
+        public KeywordMatcher(String... keywords) {
+            this.keywords = keywords.clone();
+            for (int k = 0; k < keywords.length; k++) {
+                // An empty keyword never matches (as in the browser-side scan)
+                if (keywords[k].isEmpty()) continue;
+                Node node = root;
+                for (int i = 0; i < keywords[k].length(); i++) {
+                    char c = Character.toLowerCase(keywords[k].charAt(i));
+                    node = node.next.computeIfAbsent(c, key -> new Node());
+                }
+                node.outputs = append(node.outputs, k);
+            }
+            buildFailureLinks();
+        }
+
+        private void buildFailureLinks() {
+            Queue<Node> queue = new ArrayDeque<>();
+            for (Node child : root.next.values()) {
+                child.fail = root;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                for (Map.Entry<Character, Node> edge : node.next.entrySet()) {
+                    Node child = edge.getValue();
+                    Node fail = node.fail;
+                    while (fail != null && !fail.next.containsKey(edge.getKey())) {
+                        fail = fail.fail;
+                    }
+                    child.fail = fail == null ? root : fail.next.get(edge.getKey());
+                    for (int output : child.fail.outputs) {
+                        child.outputs = append(child.outputs, output);
+                    }
+                    queue.add(child);
+                }
+            }
+        }
+
+        private static int[] append(int[] values, int value) {
+            int[] grown = Arrays.copyOf(values, values.length + 1);
+            grown[values.length] = value;
+            return grown;
+        }
+
+        /**
+         * Get every keyword that occurs in the text, in declaration order
+         */
+        public Set<String> findAll(CharSequence text) {
+            boolean[] seen = new boolean[keywords.length];
+            int remaining = 0;
+            for (String keyword : keywords) {
+                if (!keyword.isEmpty()) remaining++;
+            }
+            Node node = root;
+            for (int i = 0; i < text.length() && remaining > 0; i++) {
+                char c = Character.toLowerCase(text.charAt(i));
+                while (node != root && !node.next.containsKey(c)) {
+                    node = node.fail;
+                }
+                node = node.next.getOrDefault(c, root);
+                for (int output : node.outputs) {
+                    if (!seen[output]) {
+                        seen[output] = true;
+                        remaining--;
+                    }
+                }
+            }
+            Set<String> found = new LinkedHashSet<>();
+            for (int k = 0; k < keywords.length; k++) {
+                if (seen[k]) found.add(keywords[k]);
+            }
+            return found;
+        }
+    }
+}
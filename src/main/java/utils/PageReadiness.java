@@ -0,0 +1,128 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PageReadiness - Waits until a page is actually usable instead of sleeping for a fixed time
+ * A page is ready once document.readyState is complete, the network has gone idle and
+ * (when given) at least one of its key widgets is displayed and enabled
+ */
+public class PageReadiness {
+
+    /**
+     * Wait for a page with its learned (or configured) upper bound; returns time-to-ready in milliseconds
+     */
+    public static long waitUntilReady(WebDriver driver, String pageName, By... keyWidgets) {
+        Duration timeout = AdaptiveTimeouts.timeoutFor("page." + pageName,
+            Duration.ofSeconds(ConfigManager.PAGE_READY_TIMEOUT));
+        return waitUntilReady(driver, pageName, timeout, keyWidgets);
+    }
+
+    /**
+     * Wait for a page with an explicit upper bound; returns time-to-ready in milliseconds
+     */
+    public static long waitUntilReady(WebDriver driver, String pageName, Duration timeout, By... keyWidgets) {
+        long start = System.nanoTime();
+        JfrEvents.WaitEvent event = JfrEvents.beginWait("ready", pageName);
+        ReadinessCheck check = new ReadinessCheck(driver, keyWidgets);
+
+        boolean ready;
+        try {
+            new WebDriverWait(driver, timeout)
+                .pollingEvery(Duration.ofMillis(ConfigManager.READINESS_POLL_MS))
+                .ignoring(JavascriptException.class)
+                .ignoring(StaleElementReferenceException.class)
+                .until(d -> check.isReady());
+            ready = true;
+        } catch (TimeoutException e) {
+            ready = false;
+        }
+
+        long end = System.nanoTime();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(end - start);
+        PerformanceMonitor.recordTiming("ready." + pageName, elapsed);
+        TraceRecorder.recordWait("ready " + pageName, start, end);
+        JfrEvents.commit(event);
+        if (ready) {
+            AdaptiveTimeouts.record("page." + pageName, elapsed);
+            Log.detail("✅ %s ready in %d ms", pageName, elapsed);
+        } else {
+            AdaptiveTimeouts.recordTimeout("page." + pageName, timeout);
+            Log.info("⚠️  " + pageName + " not ready after " + elapsed + " ms ("
+                + check.describePending() + ") - continuing");
+        }
+        return elapsed;
+    }
+
+    /**
+     * Polled readiness state for one wait
+     */
+    private static class ReadinessCheck {
+        private final WebDriver driver;
+        private final By[] keyWidgets;
+        private final Map<String, By> widgets;
+        private final NetworkIdleTracker network;
+
+        // Fallback when CDP is unavailable: the resource count must stop growing for the quiet window
+        private long lastResourceCount = -1;
+        private long resourceStableSince = System.nanoTime();
+
+        private boolean documentComplete;
+        private boolean networkIdle;
+        private boolean widgetsReady;
+
+        ReadinessCheck(WebDriver driver, By[] keyWidgets) {
+            this.driver = driver;
+            this.keyWidgets = keyWidgets;
+            this.widgets = ElementProbe.indexed(keyWidgets);
+            this.network = NetworkIdleTracker.attach(driver);
+        }
+
+        boolean isReady() {
+            documentComplete = "complete".equals(
+                ((JavascriptExecutor) driver).executeScript("return document.readyState"));
+            if (!documentComplete) return false;
+
+            networkIdle = network != null ? network.isIdle(ConfigManager.NETWORK_QUIET_MS) : resourcesSettled();
+            if (!networkIdle) return false;
+
+            widgetsReady = keyWidgets.length == 0 || anyWidgetInteractable();
+            return widgetsReady;
+        }
+
+        private boolean resourcesSettled() {
+            Object count = ((JavascriptExecutor) driver).executeScript(
+                "return performance.getEntriesByType('resource').length");
+            long current = count instanceof Number ? ((Number) count).longValue() : 0;
+            if (current != lastResourceCount) {
+                lastResourceCount = current;
+                resourceStableSince = System.nanoTime();
+                return false;
+            }
+            return System.nanoTime() - resourceStableSince
+                >= TimeUnit.MILLISECONDS.toNanos(ConfigManager.NETWORK_QUIET_MS);
+        }
+
+        private boolean anyWidgetInteractable() {
+            // One round trip per poll regardless of how many widgets the page declares
+            return ElementProbe.anyInteractable(driver, widgets);
+        }
+
+        String describePending() {
+            if (!documentComplete) return "document still loading";
+            if (!networkIdle) return "network still busy";
+            if (!widgetsReady) return "key widgets not interactable";
+            return "unknown";
+        }
+    }
+}
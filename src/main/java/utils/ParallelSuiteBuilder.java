@@ -0,0 +1,110 @@
+package utils;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ParallelSuiteBuilder - Applies ConfigManager.PARALLEL_EXECUTION and THREAD_COUNT to the TestNG suite
+ * Works as a suite listener for testng.xml runs and can also build and run the suite in code
+ */
+public class ParallelSuiteBuilder implements IAlterSuiteListener {
+
+    private static final String SUITE_NAME = "TimesPrimeSuite";
+
+    private static final List<String> TEST_CLASSES = Collections.unmodifiableList(Arrays.asList(
+        "tests.UPIPaymentFlowTest",
+        "tests.CardPaymentFlowTest",
+        "tests.NetBankingPaymentFlowTest",
+        "tests.WalletAndEMIPaymentFlowTest",
+        "tests.EndToEndPaymentFlowTest",
+        "tests.PaymentFlowTest"
+    ));
+
+    /**
+     * Rewrite suites loaded from testng.xml to the configured parallelism
+     */
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!ConfigManager.PARALLEL_EXECUTION) return;
+        for (XmlSuite suite : suites) {
+            applyParallelism(suite);
+        }
+    }
+
+    /**
+     * Build the full payment suite at the configured parallelism
+     */
+    public static XmlSuite buildSuite() {
+        XmlSuite suite = new XmlSuite();
+        suite.setName(SUITE_NAME);
+        suite.addListener(PerformanceRegressionListener.class.getName());
+        suite.addListener(FrameworkListener.class.getName());
+        for (String className : TEST_CLASSES) {
+            XmlTest test = new XmlTest(suite);
+            test.setName(className.substring(className.lastIndexOf('.') + 1) + "s");
+            test.getXmlClasses().add(new XmlClass(className, false));
+        }
+        if (ConfigManager.PARALLEL_EXECUTION) {
+            applyParallelism(suite);
+        }
+        return suite;
+    }
+
+    /**
+     * Set parallel mode and thread count on a suite
+     */
+    static void applyParallelism(XmlSuite suite) {
+        XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(ConfigManager.PARALLEL_MODE);
+        int threads = Math.max(1, ConfigManager.THREAD_COUNT);
+
+        // TestNG only runs <test> tags concurrently in "tests" mode, so for
+        // methods/classes every class has to share a single <test> to be spread across threads
+        if (mode != XmlSuite.ParallelMode.TESTS && suite.getTests().size() > 1) {
+            mergeTests(suite);
+        }
+
+        suite.setParallel(mode);
+        suite.setThreadCount(threads);
+        suite.setDataProviderThreadCount(threads);
+        for (XmlTest test : suite.getTests()) {
+            test.setParallel(mode);
+            test.setThreadCount(threads);
+        }
+        Log.info("⚡ Parallel execution: " + mode + " across " + threads + " threads");
+    }
+
+    private static void mergeTests(XmlSuite suite) {
+        List<XmlClass> classes = new ArrayList<>();
+        for (XmlTest test : suite.getTests()) {
+            classes.addAll(test.getXmlClasses());
+        }
+        suite.getTests().clear();
+
+        XmlTest merged = new XmlTest(suite);
+        merged.setName(suite.getName() + "-parallel");
+        merged.setXmlClasses(classes);
+    }
+
+    /**
+     * Run the payment suite built in code
+     */
+    public static void main(String[] args) {
+        ConfigManager.printConfiguration();
+        if (!ConfigManager.validateConfiguration()) {
+            System.exit(1);
+        }
+
+        TestNG testng = new TestNG();
+        testng.setXmlSuites(Collections.singletonList(buildSuite()));
+        testng.run();
+        System.exit(testng.getStatus());
+    }
+}
@@ -0,0 +1,460 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+import org.testng.annotations.DataProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * PaymentDataFile - Memory-mapped reader for large CSV / JSONL payment data exports
+ * The file is mapped read-only and rows are parsed only as they are iterated, so opening costs
+ * the same for ten rows or ten million and the file is never copied onto the heap. The file can be
+ * cut into newline-aligned ranges for parallel streams and sharded DataProviders.
+ * CSV files need a header row (quoted fields allowed, no line breaks inside fields); JSONL files hold
+ * one flat object per line. A leading UTF-8 byte order mark, blank lines and lines starting with # are
+ * skipped
+ */
+public class PaymentDataFile {
+
+    // Mapped in segments, as one mapping is limited to 2 GB
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private static final Map<Path, PaymentDataFile> opened = new ConcurrentHashMap<>();
+    private static final Json json = new Json();
+    private static final Pattern NAME_SEPARATORS = Pattern.compile("[\\s_-]");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[\\s-]+");
+
+    /**
+     * Record fields and the column / key names accepted for them (compared ignoring case, _ - and spaces)
+     */
+    private enum Column {
+        METHOD("method", "paymentmethod", "type"),
+        CARD_NUMBER("cardnumber", "card", "pan"),
+        CARDHOLDER_NAME("cardholdername", "cardholder", "name"),
+        EXPIRY("expiry", "expirydate"),
+        CVV("cvv"),
+        VPA("vpa", "upi", "upiid"),
+        BANK("bank", "bankname"),
+        MOBILE("mobile", "mobilenumber", "phone"),
+        AMOUNT("amount"),
+        EXPECTED_OUTCOME("expectedoutcome", "outcome", "expected");
+
+        private final String[] names;
+
+        Column(String... names) {
+            this.names = names;
+        }
+
+        static Column forName(String name) {
+            String normalized = NAME_SEPARATORS.matcher(name).replaceAll("").toLowerCase(Locale.ROOT);
+            for (Column column : values()) {
+                for (String alias : column.names) {
+                    if (alias.equals(normalized)) return column;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Path path;
+    private final long size;
+    private final MappedByteBuffer[] segments;
+    private final boolean jsonLines;
+    // CSV: column of each header position (null for unknown columns) and where data rows begin
+    private final Column[] header;
+    private final long dataStart;
+
+    private PaymentDataFile(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.size = channel.size();
+            int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS);
+            this.segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, 1L << SEGMENT_BITS));
+            }
+        }
+
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        this.jsonLines = name.endsWith(".jsonl") || name.endsWith(".ndjson");
+        if (jsonLines) {
+            this.header = null;
+            this.dataStart = 0;
+        } else {
+            // The header is the first line that is not blank or a comment
+            long position = 0;
+            String line = null;
+            while (position < size && (line == null || isSkipped(line))) {
+                long end = lineEnd(position, size);
+                line = decode(position, end);
+                position = Math.min(end + 1, size);
+            }
+            if (line == null || isSkipped(line)) {
+                throw new IOException("No CSV header in " + path);
+            }
+            List<String> names = splitCsv(line);
+            this.header = new Column[names.size()];
+            for (int i = 0; i < header.length; i++) {
+                header[i] = Column.forName(names.get(i));
+            }
+            this.dataStart = position;
+        }
+    }
+
+    /**
+     * Open (and map) a data file; files are mapped once and shared between callers
+     */
+    public static PaymentDataFile open(String file) throws IOException {
+        Path path = Paths.get(file).toAbsolutePath().normalize();
+        PaymentDataFile dataFile = opened.get(path);
+        if (dataFile == null) {
+            dataFile = new PaymentDataFile(path);
+            PaymentDataFile existing = opened.putIfAbsent(path, dataFile);
+            if (existing != null) dataFile = existing;
+        }
+        return dataFile;
+    }
+
+    /**
+     * Get the file configured by ConfigManager.TEST_DATA_FILE, or null when none is set
+     */
+    public static PaymentDataFile configured() {
+        if (ConfigManager.TEST_DATA_FILE.trim().isEmpty()) return null;
+        try {
+            return open(ConfigManager.TEST_DATA_FILE.trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open test data file " + ConfigManager.TEST_DATA_FILE, e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    private byte byteAt(long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * Position of the newline ending the line at position, or limit
+     */
+    private long lineEnd(long position, long limit) {
+        while (position < limit && byteAt(position) != '\n') {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Start of the first line beginning at or after position (positions inside a line move past it)
+     */
+    private long alignToLine(long position) {
+        if (position <= dataStart) return dataStart;
+        if (position >= size) return size;
+        if (byteAt(position - 1) == '\n') return position;
+        return Math.min(lineEnd(position, size) + 1, size);
+    }
+
+    private String decode(long start, long end) {
+        if (end > start && byteAt(end - 1) == '\r') end--;
+        byte[] bytes = new byte[(int) (end - start)];
+        int segment = (int) (start >>> SEGMENT_BITS);
+        if (bytes.length > 0 && segment == (int) ((end - 1) >>> SEGMENT_BITS)) {
+            // Bulk copy through a view, leaving the shared buffer's position alone
+            ByteBuffer view = segments[segment].duplicate();
+            view.position((int) (start & SEGMENT_MASK));
+            view.get(bytes);
+        } else {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = byteAt(start + i);
+            }
+        }
+        String line = new String(bytes, StandardCharsets.UTF_8);
+        // Excel and other Windows tools start UTF-8 exports with a byte order mark
+        return start == 0 && line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    private static boolean isSkipped(String line) {
+        String trimmed = line.trim();
+        return trimmed.isEmpty() || trimmed.startsWith("#");
+    }
+
+    /**
+     * Whole file as one range
+     */
+    public Range all() {
+        return new Range(dataStart, size);
+    }
+
+    /**
+     * Cut the data rows into parts newline-aligned ranges of about equal size (ranges may be empty for tiny files)
+     */
+    public List<Range> split(int parts) {
+        if (parts <= 0) throw new IllegalArgumentException("parts must be positive: " + parts);
+        List<Range> ranges = new ArrayList<>(parts);
+        long start = dataStart;
+        for (int part = 1; part <= parts; part++) {
+            long end = part == parts ? size : alignToLine(dataStart + (size - dataStart) * part / parts);
+            end = Math.max(end, start);
+            ranges.add(new Range(start, end));
+            start = end;
+        }
+        return ranges;
+    }
+
+    /**
+     * Lazy stream of every record; parallel() splits the file at line boundaries
+     */
+    public Stream<PaymentRecord> records() {
+        return all().records();
+    }
+
+    /**
+     * Lazy stream of the records of one payment method
+     */
+    public Stream<PaymentRecord> records(PaymentRecord.Method method) {
+        return records().filter(record -> record.getMethod() == method);
+    }
+
+    /**
+     * A newline-aligned byte range of data rows
+     */
+    public class Range {
+        private final long start;
+        private final long end;
+
+        Range(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        /**
+         * Lazy stream of the range's records
+         */
+        public Stream<PaymentRecord> records() {
+            return StreamSupport.stream(new RecordSpliterator(start, end), false);
+        }
+
+        /**
+         * DataProvider rows {PaymentRecord} of one payment method (all methods when null), parsed as iterated
+         */
+        public Iterator<Object[]> rows(PaymentRecord.Method method) {
+            return new Iterator<Object[]>() {
+                private final RecordSpliterator records = new RecordSpliterator(start, end);
+                private PaymentRecord next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && records.tryAdvance(record -> {
+                        if (method == null || record.getMethod() == method) next = record;
+                    })) {
+                        // keep reading until a matching record or the end of the range
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Object[] next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    PaymentRecord record = next;
+                    next = null;
+                    return new Object[] {record};
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return path.getFileName() + "[" + start + ", " + end + ")";
+        }
+    }
+
+    /**
+     * Parses one line per advance; splitting halves the remaining bytes at the next line start
+     */
+    private class RecordSpliterator implements Spliterator<PaymentRecord> {
+        private long position;
+        private final long end;
+
+        RecordSpliterator(long position, long end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super PaymentRecord> action) {
+            while (position < end) {
+                long lineStart = position;
+                long lineEnd = lineEnd(position, end);
+                position = Math.min(lineEnd + 1, end);
+                String line = decode(lineStart, lineEnd);
+                if (isSkipped(line)) continue;
+                action.accept(parse(line, lineStart));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<PaymentRecord> trySplit() {
+            long middle = alignToLine(position + (end - position) / 2);
+            if (middle <= position || middle >= end) return null;
+            RecordSpliterator prefix = new RecordSpliterator(position, middle);
+            position = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    private PaymentRecord parse(String line, long offset) {
+        String[] values = new String[Column.values().length];
+        if (jsonLines) {
+            Map<String, Object> object;
+            try {
+                object = json.toType(line, Json.MAP_TYPE);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed JSON row at byte " + offset + " of " + path, e);
+            }
+            for (Map.Entry<String, Object> entry : object.entrySet()) {
+                Column column = Column.forName(entry.getKey());
+                if (column != null && entry.getValue() != null) values[column.ordinal()] = String.valueOf(entry.getValue());
+            }
+        } else {
+            List<String> fields = splitCsv(line);
+            for (int i = 0; i < fields.size() && i < header.length; i++) {
+                if (header[i] != null) values[header[i].ordinal()] = fields.get(i);
+            }
+        }
+
+        try {
+            String outcome = value(values, Column.EXPECTED_OUTCOME);
+            return new PaymentRecord(PaymentRecord.Method.valueOf(constant(value(values, Column.METHOD))),
+                value(values, Column.CARD_NUMBER), value(values, Column.CARDHOLDER_NAME), value(values, Column.EXPIRY),
+                value(values, Column.CVV), value(values, Column.VPA), value(values, Column.BANK),
+                value(values, Column.MOBILE), value(values, Column.AMOUNT),
+                outcome.isEmpty() ? PaymentRecord.Outcome.SUCCESS : PaymentRecord.Outcome.valueOf(constant(outcome)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid payment row at byte " + offset + " of " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String value(String[] values, Column column) {
+        String value = values[column.ordinal()];
+        return value == null ? "" : value.trim();
+    }
+
+    /**
+     * Enum constant name for a value such as "Net Banking", "netbanking" or "upi"
+     */
+    private static String constant(String value) {
+        String constant = WORD_SEPARATORS.matcher(value.toUpperCase(Locale.ROOT)).replaceAll("_");
+        return constant.equals("NETBANKING") ? "NET_BANKING" : constant;
+    }
+
+    /**
+     * Split one CSV line; fields may be quoted, with "" standing for a quote inside a quoted field
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * DataProvider rows of the configured file's shard (ConfigManager.TEST_DATA_FILE_SHARD) for one method
+     */
+    private static Iterator<Object[]> shardRows(PaymentRecord.Method method) {
+        PaymentDataFile dataFile = configured();
+        if (dataFile == null) {
+            Log.info("⚠️  No test data file configured (-DdataFile); " + method + " file-driven tests have no rows");
+            return Collections.emptyIterator();
+        }
+        String[] shard = ConfigManager.TEST_DATA_FILE_SHARD.trim().split("/");
+        int index = Integer.parseInt(shard[0].trim());
+        int count = Integer.parseInt(shard[1].trim());
+        Range range = dataFile.split(count).get(index - 1);
+        Log.detail("📂 %s rows from %s", method, range);
+        return range.rows(method);
+    }
+
+    @DataProvider(name = "fileCardPayments")
+    public static Iterator<Object[]> fileCardPayments() {
+        return shardRows(PaymentRecord.Method.CARD);
+    }
+
+    @DataProvider(name = "fileUpiPayments")
+    public static Iterator<Object[]> fileUpiPayments() {
+        return shardRows(PaymentRecord.Method.UPI);
+    }
+
+    @DataProvider(name = "fileNetBankingPayments")
+    public static Iterator<Object[]> fileNetBankingPayments() {
+        return shardRows(PaymentRecord.Method.NET_BANKING);
+    }
+}
@@ -0,0 +1,295 @@
+package utils;
+
+import org.testng.annotations.DataProvider;
+
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * PaymentDataGenerator - Seeded, reproducible generator of valid synthetic payment data
+ * Record i is derived only from the seed, the reference month and i (SplitMix64), so any record can be
+ * produced on its own and replays the same in later runs: streams are lazy and parallel-friendly, and
+ * DataProviders iterate without holding the set in memory.
+ * Produces Luhn-valid card numbers per network, expiries after the reference month with matching CVV
+ * lengths, UPI VPAs, Indian mobile numbers and amounts
+ */
+public class PaymentDataGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final String[] FIRST_NAMES = {"AARAV", "ANANYA", "ARJUN", "DIYA", "ISHAAN", "KAVYA", "MEERA",
+        "NIKHIL", "PRIYA", "RAHUL", "ROHAN", "SANYA", "TANVI", "VIKRAM", "ZOYA"};
+    private static final String[] LAST_NAMES = {"AGARWAL", "BANERJEE", "GUPTA", "IYER", "KAPOOR", "KHAN", "MEHTA",
+        "NAIR", "PATEL", "REDDY", "SHARMA", "SINGH", "VERMA"};
+    private static final String[] UPI_HANDLES = {"okhdfcbank", "okicici", "oksbi", "okaxis", "ybl", "ibl", "paytm", "upi"};
+    private static final char[] VPA_CHARACTERS = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    private static final PaymentDataGenerator shared = new PaymentDataGenerator(ConfigManager.TEST_DATA_SEED);
+
+    /**
+     * Card networks with their issuer prefixes, card length and CVV length
+     */
+    public enum Network {
+        VISA(16, 3, "4"),
+        MASTERCARD(16, 3, "51", "52", "53", "54", "55", "2221", "2720"),
+        RUPAY(16, 3, "60", "65", "81", "82", "508"),
+        AMEX(15, 4, "34", "37");
+
+        private final int length;
+        private final int cvvLength;
+        private final String[] prefixes;
+
+        Network(int length, int cvvLength, String... prefixes) {
+            this.length = length;
+            this.cvvLength = cvvLength;
+            this.prefixes = prefixes;
+        }
+
+        public int getCvvLength() {
+            return cvvLength;
+        }
+    }
+
+    private final long seed;
+    private final YearMonth referenceMonth;
+
+    /**
+     * Generator with expiries counted from ConfigManager.TEST_DATA_REFERENCE_MONTH
+     */
+    public PaymentDataGenerator(long seed) {
+        this(seed, YearMonth.parse(ConfigManager.TEST_DATA_REFERENCE_MONTH));
+    }
+
+    public PaymentDataGenerator(long seed, YearMonth referenceMonth) {
+        this.seed = seed;
+        this.referenceMonth = referenceMonth;
+    }
+
+    /**
+     * Get the generator seeded from ConfigManager.TEST_DATA_SEED
+     */
+    public static PaymentDataGenerator getShared() {
+        return shared;
+    }
+
+    /**
+     * SplitMix64 sequence for one record
+     */
+    private static final class SplitMix {
+        private long state;
+
+        SplitMix(long state) {
+            this.state = state;
+        }
+
+        long nextLong() {
+            return mix(state += GOLDEN_GAMMA);
+        }
+
+        /**
+         * Uniform int in [0, bound)
+         */
+        int nextInt(int bound) {
+            return (int) (((nextLong() >>> 33) * bound) >>> 31);
+        }
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private SplitMix random(long index, long stream) {
+        // Hashed starting state, so neighbouring records do not share shifted sequences
+        return new SplitMix(mix(mix(seed + stream * GOLDEN_GAMMA) + (index + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Luhn-valid card number i of a network
+     */
+    public String cardNumber(Network network, long index) {
+        return cardNumber(network, random(index, network.ordinal() + 1));
+    }
+
+    private static String cardNumber(Network network, SplitMix random) {
+        char[] digits = new char[network.length];
+        String prefix = network.prefixes[random.nextInt(network.prefixes.length)];
+        prefix.getChars(0, prefix.length(), digits, 0);
+        for (int i = prefix.length(); i < digits.length - 1; i++) {
+            digits[i] = (char) ('0' + random.nextInt(10));
+        }
+        digits[digits.length - 1] = (char) ('0' + luhnCheckDigit(digits, digits.length - 1));
+        return new String(digits);
+    }
+
+    /**
+     * Check digit that makes the first length digits plus it pass the Luhn check
+     */
+    static int luhnCheckDigit(char[] digits, int length) {
+        int sum = 0;
+        // Doubling starts at the digit next to the (missing) check digit
+        boolean doubled = true;
+        for (int i = length - 1; i >= 0; i--) {
+            int digit = digits[i] - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) digit -= 9;
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Check a card number with the Luhn algorithm
+     */
+    public static boolean isLuhnValid(String number) {
+        if (number.length() < 2) return false;
+        char[] digits = number.toCharArray();
+        for (char digit : digits) {
+            if (digit < '0' || digit > '9') return false;
+        }
+        return luhnCheckDigit(digits, digits.length - 1) == digits[digits.length - 1] - '0';
+    }
+
+    /**
+     * Generate record i: method, details and amount all follow from the seed and i
+     */
+    public PaymentRecord record(long index) {
+        SplitMix random = random(index, 0);
+        PaymentRecord.Method method = PaymentRecord.Method.values()[random.nextInt(PaymentRecord.Method.values().length)];
+        return record(method, random);
+    }
+
+    /**
+     * Generate record i for a given payment method
+     */
+    public PaymentRecord record(PaymentRecord.Method method, long index) {
+        return record(method, random(index, 16 + method.ordinal()));
+    }
+
+    private PaymentRecord record(PaymentRecord.Method method, SplitMix random) {
+        String mobile = mobileNumber(random);
+        String amount = amount(random);
+        switch (method) {
+            case CARD:
+                Network network = Network.values()[random.nextInt(Network.values().length)];
+                return new PaymentRecord(method, cardNumber(network, random), cardholderName(random), expiry(referenceMonth, random),
+                    digits(random, network.cvvLength), "", "", mobile, amount, PaymentRecord.Outcome.SUCCESS);
+            case UPI:
+                return new PaymentRecord(method, "", "", "", "", vpa(random), "", mobile, amount,
+                    PaymentRecord.Outcome.SUCCESS);
+            default:
+                String[] banks = TestDataManager.BANK_NAMES;
+                return new PaymentRecord(method, "", "", "", "", "", banks[random.nextInt(banks.length)], mobile, amount,
+                    PaymentRecord.Outcome.SUCCESS);
+        }
+    }
+
+    private static String cardholderName(SplitMix random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    /**
+     * MM/YY between one month and five years after the reference month
+     */
+    private static String expiry(YearMonth referenceMonth, SplitMix random) {
+        YearMonth month = referenceMonth.plusMonths(1 + random.nextInt(60));
+        int year = month.getYear() % 100;
+        return (month.getMonthValue() < 10 ? "0" : "") + month.getMonthValue() + "/" + (year < 10 ? "0" : "") + year;
+    }
+
+    private static String vpa(SplitMix random) {
+        char[] handle = new char[3 + random.nextInt(10)];
+        // Handles start with a letter
+        handle[0] = VPA_CHARACTERS[random.nextInt(26)];
+        for (int i = 1; i < handle.length; i++) {
+            handle[i] = VPA_CHARACTERS[random.nextInt(VPA_CHARACTERS.length)];
+        }
+        return new String(handle) + "@" + UPI_HANDLES[random.nextInt(UPI_HANDLES.length)];
+    }
+
+    /**
+     * Ten digits starting with 6-9
+     */
+    private static String mobileNumber(SplitMix random) {
+        return (char) ('6' + random.nextInt(4)) + digits(random, 9);
+    }
+
+    /**
+     * Rupee amount from 1 to 1,00,000, spread evenly across orders of magnitude
+     */
+    private static String amount(SplitMix random) {
+        long paise = Math.round(100 * Math.pow(10, 5 * (random.nextLong() >>> 11) / (double) (1L << 53)));
+        return (paise / 100) + "." + (paise % 100 < 10 ? "0" : "") + (paise % 100);
+    }
+
+    private static String digits(SplitMix random, int count) {
+        char[] digits = new char[count];
+        for (int i = 0; i < count; i++) {
+            digits[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(digits);
+    }
+
+    /**
+     * Lazy stream of the first count records (parallel() generates them concurrently)
+     */
+    public Stream<PaymentRecord> records(long count) {
+        return LongStream.range(0, count).mapToObj(this::record);
+    }
+
+    /**
+     * Lazy stream of the first count records of one payment method
+     */
+    public Stream<PaymentRecord> records(PaymentRecord.Method method, long count) {
+        return LongStream.range(0, count).mapToObj(index -> record(method, index));
+    }
+
+    /**
+     * Endless lazy stream of Luhn-valid card numbers of a network
+     */
+    public Stream<String> cardNumbers(Network network) {
+        return LongStream.iterate(0, index -> index + 1).mapToObj(index -> cardNumber(network, index));
+    }
+
+    /**
+     * DataProvider rows {PaymentRecord} for the first count records of a method, generated one at a time
+     */
+    public Iterator<Object[]> rows(PaymentRecord.Method method, long count) {
+        return new Iterator<Object[]>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Object[] next() {
+                if (next >= count) throw new NoSuchElementException();
+                return new Object[] {record(method, next++)};
+            }
+        };
+    }
+
+    @DataProvider(name = "generatedCardPayments")
+    public static Iterator<Object[]> generatedCardPayments() {
+        return shared.rows(PaymentRecord.Method.CARD, ConfigManager.GENERATED_RECORDS);
+    }
+
+    @DataProvider(name = "generatedUpiPayments")
+    public static Iterator<Object[]> generatedUpiPayments() {
+        return shared.rows(PaymentRecord.Method.UPI, ConfigManager.GENERATED_RECORDS);
+    }
+
+    @DataProvider(name = "generatedNetBankingPayments")
+    public static Iterator<Object[]> generatedNetBankingPayments() {
+        return shared.rows(PaymentRecord.Method.NET_BANKING, ConfigManager.GENERATED_RECORDS);
+    }
+}
@@ -0,0 +1,106 @@
+package utils;
+
+/**
+ * PaymentRecord - One row of payment test data (generated or loaded from a file)
+ * Fields that do not apply to the payment method are empty strings
+ */
+public class PaymentRecord {
+
+    /**
+     * Payment method the record exercises
+     */
+    public enum Method {
+        CARD, UPI, NET_BANKING
+    }
+
+    /**
+     * Result the flow is expected to reach
+     */
+    public enum Outcome {
+        SUCCESS, DECLINED, INVALID
+    }
+
+    private final Method method;
+    private final String cardNumber;
+    private final String cardholderName;
+    private final String expiry;
+    private final String cvv;
+    private final String vpa;
+    private final String bank;
+    private final String mobile;
+    private final String amount;
+    private final Outcome expectedOutcome;
+
+    public PaymentRecord(Method method, String cardNumber, String cardholderName, String expiry, String cvv,
+                         String vpa, String bank, String mobile, String amount, Outcome expectedOutcome) {
+        this.method = method;
+        this.cardNumber = cardNumber;
+        this.cardholderName = cardholderName;
+        this.expiry = expiry;
+        this.cvv = cvv;
+        this.vpa = vpa;
+        this.bank = bank;
+        this.mobile = mobile;
+        this.amount = amount;
+        this.expectedOutcome = expectedOutcome;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getCardNumber() {
+        return cardNumber;
+    }
+
+    public String getCardholderName() {
+        return cardholderName;
+    }
+
+    public String getExpiry() {
+        return expiry;
+    }
+
+    public String getCvv() {
+        return cvv;
+    }
+
+    public String getVpa() {
+        return vpa;
+    }
+
+    public String getBank() {
+        return bank;
+    }
+
+    public String getMobile() {
+        return mobile;
+    }
+
+    public String getAmount() {
+        return amount;
+    }
+
+    public Outcome getExpectedOutcome() {
+        return expectedOutcome;
+    }
+
+    /**
+     * Short description for test names and logs; card numbers are masked to the last four digits
+     */
+    @Override
+    public String toString() {
+        String detail;
+        switch (method) {
+            case CARD:
+                detail = cardNumber.length() > 4 ? "card *" + cardNumber.substring(cardNumber.length() - 4) : "card " + cardNumber;
+                break;
+            case UPI:
+                detail = vpa;
+                break;
+            default:
+                detail = bank;
+        }
+        return method + " " + detail + " ₹" + amount + " -> " + expectedOutcome;
+    }
+}
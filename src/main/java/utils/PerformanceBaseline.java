@@ -0,0 +1,197 @@
+package utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * PerformanceBaseline - Versioned store of per-action and per-test p95 latencies
+ * A baseline is captured from PerformanceMonitor's histograms at the end of a run and kept in
+ * perf-history/baseline.properties; each update bumps the baseline revision. Only actions with at least
+ * PERF_REGRESSION_MIN_SAMPLES samples are captured, as fewer could never be compared
+ */
+public class PerformanceBaseline {
+
+    public static final File BASELINE_FILE = new File(ConfigManager.PERF_HISTORY_DIR, "baseline.properties");
+
+    // Bump when the file layout changes; baselines in another format are ignored
+    static final int FORMAT_VERSION = 1;
+
+    private static final String FORMAT_KEY = "format.version";
+    private static final String REVISION_KEY = "baseline.revision";
+    private static final String CREATED_KEY = "baseline.created";
+    private static final String ENVIRONMENT_KEY = "baseline.environment";
+    private static final String ENTRY_PREFIX = "p95.";
+
+    private final int revision;
+    private final String created;
+    private final String environment;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Baseline p95 and sample count of one action or test/action pair
+     */
+    public static class Entry {
+        private final long p95Micros;
+        private final long samples;
+
+        Entry(long p95Micros, long samples) {
+            this.p95Micros = p95Micros;
+            this.samples = samples;
+        }
+
+        public long getP95Micros() {
+            return p95Micros;
+        }
+
+        public long getSamples() {
+            return samples;
+        }
+    }
+
+    private PerformanceBaseline(int revision, String created, String environment, Map<String, Entry> entries) {
+        this.revision = revision;
+        this.created = created;
+        this.environment = environment;
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * Key of an action across all tests
+     */
+    public static String actionKey(String action) {
+        return "action:" + action;
+    }
+
+    /**
+     * Key of an action within one test
+     */
+    public static String testKey(String testName, String action) {
+        return "test:" + testName + " > " + action;
+    }
+
+    /**
+     * Capture the p95 of every action (overall and per test) recorded often enough in this run
+     */
+    public static PerformanceBaseline capture(int revision) {
+        Map<String, Entry> entries = new TreeMap<>();
+        for (String action : PerformanceMonitor.getLatencyActions()) {
+            putIfComparable(entries, actionKey(action), PerformanceMonitor.getLatencyHistogram(action));
+            for (Map.Entry<String, LatencyHistogram> perTest : PerformanceMonitor.getLatencyHistogramsByTest(action).entrySet()) {
+                putIfComparable(entries, testKey(perTest.getKey(), action), perTest.getValue());
+            }
+        }
+        return new PerformanceBaseline(revision, Instant.now().toString(), ConfigManager.ENVIRONMENT, entries);
+    }
+
+    private static void putIfComparable(Map<String, Entry> entries, String key, LatencyHistogram histogram) {
+        if (histogram.getCount() >= ConfigManager.PERF_REGRESSION_MIN_SAMPLES) {
+            entries.put(key, new Entry(histogram.getPercentileMicros(95), histogram.getCount()));
+        }
+    }
+
+    /**
+     * This baseline plus the entries of another one for keys it does not have yet (existing entries are kept)
+     */
+    public PerformanceBaseline withMissingFrom(PerformanceBaseline other) {
+        Map<String, Entry> merged = new TreeMap<>(entries);
+        for (Map.Entry<String, Entry> entry : other.entries.entrySet()) {
+            merged.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        return new PerformanceBaseline(revision, created, environment, merged);
+    }
+
+    /**
+     * Load a stored baseline, or null if there is none (or it is in an older format)
+     */
+    public static PerformanceBaseline load(File file) {
+        if (!file.exists()) return null;
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            Log.info("⚠️  Could not read performance baseline: " + e.getMessage());
+            return null;
+        }
+        if (!String.valueOf(FORMAT_VERSION).equals(properties.getProperty(FORMAT_KEY))) {
+            Log.info("⚠️  Ignoring performance baseline in format " + properties.getProperty(FORMAT_KEY));
+            return null;
+        }
+
+        Map<String, Entry> entries = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(ENTRY_PREFIX)) continue;
+            String[] values = properties.getProperty(key).split(",");
+            try {
+                entries.put(key.substring(ENTRY_PREFIX.length()),
+                    new Entry(Long.parseLong(values[0].trim()), Long.parseLong(values[1].trim())));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                // skip corrupt entry
+            }
+        }
+        int revision;
+        try {
+            revision = Integer.parseInt(properties.getProperty(REVISION_KEY, "0").trim());
+        } catch (NumberFormatException e) {
+            revision = 0;
+        }
+        return new PerformanceBaseline(revision, properties.getProperty(CREATED_KEY, ""),
+            properties.getProperty(ENVIRONMENT_KEY, ""), entries);
+    }
+
+    /**
+     * Save this baseline, replacing the file
+     */
+    public void save(File file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(FORMAT_KEY, String.valueOf(FORMAT_VERSION));
+        properties.setProperty(REVISION_KEY, String.valueOf(revision));
+        properties.setProperty(CREATED_KEY, created);
+        properties.setProperty(ENVIRONMENT_KEY, environment);
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            properties.setProperty(ENTRY_PREFIX + entry.getKey(),
+                entry.getValue().p95Micros + "," + entry.getValue().samples);
+        }
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Performance baseline: p95.<key>=<p95 microseconds>,<samples>");
+        }
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    public String getCreated() {
+        return created;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public Map<String, Entry> getEntries() {
+        return entries;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Get the baseline entry for a key, or null
+     */
+    public Entry get(String key) {
+        return entries.get(key);
+    }
+}
@@ -1,79 +1,296 @@
 package utils;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * PerformanceMonitor - Tracks and measures test execution performance
- * Collects timing metrics for optimization analysis
+ * Collects timing metrics for optimization analysis; safe to call from parallel test threads
+ * (per-thread start tokens, striped counters, System.nanoTime for durations)
  */
 public class PerformanceMonitor {
 
-    private static Map<String, Long> startTimes = new HashMap<>();
-    private static Map<String, Long> endTimes = new HashMap<>();
-    private static Map<String, Long> durations = new HashMap<>();
-    private static Map<String, Integer> actionCounts = new HashMap<>();
+    // Start tokens of the monitoring calls open on the current thread, by test/action name
+    private static final ThreadLocal<Map<String, Long>> startTokens = ThreadLocal.withInitial(HashMap::new);
+    private static final Map<String, DurationStats> durations = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> actionCounts = new ConcurrentHashMap<>();
+    // Latency histograms are written by their own thread only and merged when queried
+    private static final Collection<ThreadRecorder> recorders = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<ThreadRecorder> recorder = ThreadLocal.withInitial(() -> {
+        ThreadRecorder created = new ThreadRecorder(Thread.currentThread().getName());
+        recorders.add(created);
+        return created;
+    });
+
+    /**
+     * Accumulated durations of every run of one test/action
+     */
+    private static class DurationStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        volatile long lastNanos;
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            lastNanos = nanos;
+        }
+
+        long averageMillis() {
+            long runs = count.sum();
+            return runs > 0 ? TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / runs) : 0;
+        }
+
+        long lastMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(lastNanos);
+        }
+    }
+
+    /**
+     * Latency histograms recorded by one thread, by action and then by test
+     */
+    private static class ThreadRecorder {
+        final String threadName;
+        final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+        ThreadRecorder(String threadName) {
+            this.threadName = threadName;
+        }
+
+        LatencyHistogram histogram(String action, String testName) {
+            return histograms.computeIfAbsent(action, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(testName, key -> new LatencyHistogram());
+        }
+    }
 
     /**
      * Start monitoring a test/action
      */
     public static void startMonitoring(String testName) {
-        long startTime = System.currentTimeMillis();
-        startTimes.put(testName, startTime);
-        System.out.println("⏱️  Started: " + testName + " at " + new java.util.Date(startTime));
+        startTokens.get().put(testName, start());
+        Log.info("⏱️  Started: " + testName + " at " + new java.util.Date());
     }
 
     /**
      * Stop monitoring and record duration
      */
     public static long stopMonitoring(String testName) {
-        long endTime = System.currentTimeMillis();
-        endTimes.put(testName, endTime);
-        
-        Long startTime = startTimes.get(testName);
-        if (startTime != null) {
-            long duration = endTime - startTime;
-            durations.put(testName, duration);
-            System.out.println("⏸️  Completed: " + testName + " | Duration: " + duration + "ms");
+        Map<String, Long> open = startTokens.get();
+        Long token = open.remove(testName);
+        if (open.isEmpty()) {
+            startTokens.remove();
+        }
+        if (token != null) {
+            long duration = stop(testName, token);
+            Log.info("⏸️  Completed: " + testName + " | Duration: " + duration + "ms");
             return duration;
         }
         return 0;
     }
 
+    /**
+     * Get a start token for timing a section without a thread-local lookup
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the duration since a start token and return it in milliseconds
+     */
+    public static long stop(String name, long token) {
+        long nanos = System.nanoTime() - token;
+        durations.computeIfAbsent(name, key -> new DurationStats()).add(nanos);
+        recordLatency(name, nanos);
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
     /**
      * Get duration in seconds
      */
     public static double getDurationInSeconds(String testName) {
-        Long duration = durations.get(testName);
-        return duration != null ? duration / 1000.0 : 0;
+        return getDurationInMilliseconds(testName) / 1000.0;
     }
 
     /**
-     * Get duration in milliseconds
+     * Get duration in milliseconds (of the most recent run)
      */
     public static long getDurationInMilliseconds(String testName) {
-        return durations.getOrDefault(testName, 0L);
+        DurationStats stats = durations.get(testName);
+        return stats != null ? stats.lastMillis() : 0;
+    }
+
+    /**
+     * Get number of recorded runs of a test/action
+     */
+    public static long getRunCount(String testName) {
+        DurationStats stats = durations.get(testName);
+        return stats != null ? stats.count.sum() : 0;
     }
 
     /**
      * Track action count
      */
     public static void incrementActionCount(String actionName) {
-        int count = actionCounts.getOrDefault(actionName, 0);
-        actionCounts.put(actionName, count + 1);
+        actionCounts.computeIfAbsent(actionName, key -> new LongAdder()).increment();
     }
 
     /**
      * Get action count
      */
     public static int getActionCount(String actionName) {
-        return actionCounts.getOrDefault(actionName, 0);
+        LongAdder count = actionCounts.get(actionName);
+        return count != null ? count.intValue() : 0;
+    }
+
+    /**
+     * Record a measured timing (e.g. time-to-ready of a page) in milliseconds
+     */
+    public static void recordTiming(String name, long millis) {
+        recorder.get().histogram(name, TestContext.currentTestName()).recordMillis(millis);
+    }
+
+    /**
+     * Record the latency of an action for the current thread and test
+     */
+    public static void recordLatency(String action, long nanos) {
+        recorder.get().histogram(action, TestContext.currentTestName()).recordNanos(nanos);
+    }
+
+    /**
+     * Get the latency histogram of an action merged across all threads and tests
+     */
+    public static LatencyHistogram getLatencyHistogram(String action) {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (ThreadRecorder threadRecorder : recorders) {
+            Map<String, LatencyHistogram> byTest = threadRecorder.histograms.get(action);
+            if (byTest == null) continue;
+            for (LatencyHistogram histogram : byTest.values()) {
+                merged.merge(histogram);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Get the latency histogram of an action within one test, merged across threads
+     */
+    public static LatencyHistogram getLatencyHistogram(String action, String testName) {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (ThreadRecorder threadRecorder : recorders) {
+            Map<String, LatencyHistogram> byTest = threadRecorder.histograms.get(action);
+            LatencyHistogram histogram = byTest != null ? byTest.get(testName) : null;
+            if (histogram != null) merged.merge(histogram);
+        }
+        return merged;
+    }
+
+    /**
+     * Get the latency histograms of an action per test, merged across threads
+     */
+    public static Map<String, LatencyHistogram> getLatencyHistogramsByTest(String action) {
+        Map<String, LatencyHistogram> byTest = new TreeMap<>();
+        for (ThreadRecorder threadRecorder : recorders) {
+            Map<String, LatencyHistogram> recorded = threadRecorder.histograms.get(action);
+            if (recorded == null) continue;
+            for (Map.Entry<String, LatencyHistogram> entry : recorded.entrySet()) {
+                byTest.computeIfAbsent(entry.getKey(), key -> new LatencyHistogram()).merge(entry.getValue());
+            }
+        }
+        return byTest;
+    }
+
+    /**
+     * Get the latency histograms of an action per thread, merged across tests
+     */
+    public static Map<String, LatencyHistogram> getLatencyHistogramsByThread(String action) {
+        Map<String, LatencyHistogram> byThread = new TreeMap<>();
+        for (ThreadRecorder threadRecorder : recorders) {
+            Map<String, LatencyHistogram> recorded = threadRecorder.histograms.get(action);
+            if (recorded == null) continue;
+            LatencyHistogram histogram = byThread.computeIfAbsent(threadRecorder.threadName, key -> new LatencyHistogram());
+            for (LatencyHistogram perTest : recorded.values()) {
+                histogram.merge(perTest);
+            }
+        }
+        return byThread;
+    }
+
+    /**
+     * Get the names of all actions with recorded latencies
+     */
+    public static Set<String> getLatencyActions() {
+        Set<String> actions = new TreeSet<>();
+        for (ThreadRecorder threadRecorder : recorders) {
+            actions.addAll(threadRecorder.histograms.keySet());
+        }
+        return actions;
+    }
+
+    /**
+     * Save the latency histograms of this run per action and test, for merging with other runs
+     */
+    public static void saveLatencyHistograms(File file) throws IOException {
+        Properties properties = new Properties();
+        for (String action : getLatencyActions()) {
+            for (Map.Entry<String, LatencyHistogram> entry : getLatencyHistogramsByTest(action).entrySet()) {
+                properties.setProperty(action + " @ " + entry.getKey(), entry.getValue().encode());
+            }
+        }
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Latency histograms per <action> @ <test>");
+        }
+    }
+
+    /**
+     * Load latency histograms saved by one or more runs, merged per action
+     */
+    public static Map<String, LatencyHistogram> loadLatencyHistograms(File... files) throws IOException {
+        Map<String, LatencyHistogram> byAction = new TreeMap<>();
+        for (File file : files) {
+            Properties properties = new Properties();
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+            }
+            for (String key : properties.stringPropertyNames()) {
+                int separator = key.lastIndexOf(" @ ");
+                String action = separator >= 0 ? key.substring(0, separator) : key;
+                byAction.computeIfAbsent(action, name -> new LatencyHistogram())
+                    .merge(LatencyHistogram.decode(properties.getProperty(key)));
+            }
+        }
+        return byAction;
     }
 
     /**
      * Get average time per action
      */
     public static double getAverageTimePerAction(String testName, String actionName) {
+        LatencyHistogram histogram = getLatencyHistogram(actionName, testName);
+        if (histogram.getCount() > 0) {
+            return histogram.getMeanMillis();
+        }
         long duration = getDurationInMilliseconds(testName);
         int count = getActionCount(actionName);
         return count > 0 ? (double) duration / count : 0;
@@ -83,59 +300,64 @@ public class PerformanceMonitor {
      * Print performance summary
      */
     public static void printPerformanceSummary() {
-        System.out.println("\n=== Performance Summary ===");
+        Log.info("\n=== Performance Summary ===");
         
         if (durations.isEmpty()) {
-            System.out.println("No performance data available");
+            Log.info("No performance data available");
             return;
         }
 
         long totalTime = 0;
-        for (String testName : durations.keySet()) {
-            long duration = durations.get(testName);
+        for (Map.Entry<String, DurationStats> entry : durations.entrySet()) {
+            DurationStats stats = entry.getValue();
+            long duration = TimeUnit.NANOSECONDS.toMillis(stats.totalNanos.sum());
             totalTime += duration;
-            System.out.println(String.format("%-40s: %7d ms (%.2f sec)", 
-                testName, duration, duration / 1000.0));
+            long runs = stats.count.sum();
+            Log.info("%-40s: %7d ms (%.2f sec)%s",
+                entry.getKey(), duration, duration / 1000.0,
+                runs > 1 ? String.format(" over %d runs, avg %d ms", runs, stats.averageMillis()) : "");
         }
 
-        System.out.println("---------------------------");
-        System.out.println(String.format("%-40s: %7d ms (%.2f sec)", 
-            "TOTAL", totalTime, totalTime / 1000.0));
-        System.out.println("==========================\n");
+        Log.info("---------------------------");
+        Log.info("%-40s: %7d ms (%.2f sec)", 
+            "TOTAL", totalTime, totalTime / 1000.0);
+        Log.info("==========================\n");
     }
 
     /**
      * Print action summary
      */
     public static void printActionSummary() {
-        System.out.println("\n=== Action Summary ===");
+        Log.info("\n=== Action Summary ===");
         
         if (actionCounts.isEmpty()) {
-            System.out.println("No action data available");
+            Log.info("No action data available");
             return;
         }
 
-        int totalActions = 0;
-        for (String action : actionCounts.keySet()) {
-            int count = actionCounts.get(action);
+        long totalActions = 0;
+        for (Map.Entry<String, LongAdder> entry : actionCounts.entrySet()) {
+            long count = entry.getValue().sum();
             totalActions += count;
-            System.out.println(action + ": " + count + " times");
+            Log.info(entry.getKey() + ": " + count + " times");
         }
 
-        System.out.println("------------------");
-        System.out.println("Total Actions: " + totalActions);
-        System.out.println("====================\n");
+        Log.info("------------------");
+        Log.info("Total Actions: " + totalActions);
+        Log.info("====================\n");
     }
 
     /**
      * Clear all monitoring data
      */
     public static void clearMonitoringData() {
-        startTimes.clear();
-        endTimes.clear();
+        startTokens.remove();
         durations.clear();
         actionCounts.clear();
-        System.out.println("✅ Performance monitoring data cleared");
+        for (ThreadRecorder threadRecorder : recorders) {
+            threadRecorder.histograms.clear();
+        }
+        Log.info("✅ Performance monitoring data cleared");
     }
 
     /**
@@ -143,7 +365,7 @@ public class PerformanceMonitor {
      */
     public static String getSlowestTest() {
         return durations.entrySet().stream()
-            .max((e1, e2) -> e1.getValue().compareTo(e2.getValue()))
+            .max((e1, e2) -> Long.compare(e1.getValue().averageMillis(), e2.getValue().averageMillis()))
             .map(Map.Entry::getKey)
             .orElse("N/A");
     }
@@ -153,7 +375,7 @@ public class PerformanceMonitor {
      */
     public static String getFastestTest() {
         return durations.entrySet().stream()
-            .min((e1, e2) -> e1.getValue().compareTo(e2.getValue()))
+            .min((e1, e2) -> Long.compare(e1.getValue().averageMillis(), e2.getValue().averageMillis()))
             .map(Map.Entry::getKey)
             .orElse("N/A");
     }
@@ -162,9 +384,34 @@ public class PerformanceMonitor {
      * Get average test duration
      */
     public static double getAverageTestDuration() {
-        if (durations.isEmpty()) return 0;
-        long sum = durations.values().stream().mapToLong(Long::longValue).sum();
-        return (double) sum / durations.size() / 1000; // In seconds
+        long runs = durations.values().stream().mapToLong(stats -> stats.count.sum()).sum();
+        if (runs == 0) return 0;
+        return (double) getTotalNanos() / runs / 1_000_000_000; // In seconds
+    }
+
+    /**
+     * Get p50/p90/p99/max latency per action, with a breakdown per test, as report
+     */
+    public static String getLatencyReport() {
+        Set<String> actions = getLatencyActions();
+        if (actions.isEmpty()) return "";
+        StringBuilder report = new StringBuilder();
+        report.append("⏱️  Latency Percentiles:\n");
+        for (String action : actions) {
+            report.append(String.format("  • %s: %s\n", action, getLatencyHistogram(action)));
+            Map<String, LatencyHistogram> byTest = getLatencyHistogramsByTest(action);
+            if (byTest.size() > 1) {
+                for (Map.Entry<String, LatencyHistogram> entry : byTest.entrySet()) {
+                    report.append(String.format("      ↳ %s: %s\n", entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+        report.append("\n");
+        return report.toString();
+    }
+
+    private static long getTotalNanos() {
+        return durations.values().stream().mapToLong(stats -> stats.totalNanos.sum()).sum();
     }
 
     /**
@@ -177,17 +424,23 @@ public class PerformanceMonitor {
         report.append("╚════════════════════════════════════════╝\n\n");
 
         report.append("📊 Test Execution Times:\n");
-        for (String test : durations.keySet()) {
-            long duration = durations.get(test);
-            report.append(String.format("  • %s: %d ms\n", test, duration));
+        for (Map.Entry<String, DurationStats> entry : durations.entrySet()) {
+            DurationStats stats = entry.getValue();
+            report.append(String.format("  • %s: %d ms", entry.getKey(), stats.lastMillis()));
+            if (stats.count.sum() > 1) {
+                report.append(String.format(" (%d runs | avg %d ms | max %d ms)", stats.count.sum(),
+                    stats.averageMillis(), TimeUnit.NANOSECONDS.toMillis(stats.maxNanos.get())));
+            }
+            report.append("\n");
         }
 
         report.append(String.format("\n⏱️  Average Duration: %.2f sec\n", getAverageTestDuration()));
         report.append(String.format("🐢 Slowest Test: %s\n", getSlowestTest()));
         report.append(String.format("🐇 Fastest Test: %s\n", getFastestTest()));
         report.append(String.format("📈 Total Tests: %d\n", durations.size()));
-        report.append(String.format("📉 Total Duration: %.2f sec\n\n", 
-            durations.values().stream().mapToLong(Long::longValue).sum() / 1000.0));
+        report.append(String.format("📉 Total Duration: %.2f sec\n\n", getTotalNanos() / 1_000_000_000.0));
+
+        report.append(getLatencyReport());
 
         return report.toString();
     }
@@ -0,0 +1,226 @@
+package utils;
+
+import org.testng.IExecutionListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.TestNGException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PerformanceRegressionListener - Compares the run's latencies to the stored baseline at suite end
+ * A p95 counts as regressed only when it exceeds the baseline p95 by more than the tolerance AND a
+ * one-sided proportion z-test shows that significantly more than 5% of this run's samples lie above
+ * the baseline p95, so a single slow sample on a noisy run does not raise an alarm.
+ * In fail mode the run is failed only once TestNG has finished, so other listeners' suite-end work still runs;
+ * baselines recorded in another environment are reported but never fail a run.
+ * Actions the baseline does not know yet are added to it on the next run in its environment, so new
+ * actions start being gated without re-recording the baseline
+ */
+public class PerformanceRegressionListener implements ISuiteListener, IExecutionListener {
+
+    // Share of samples expected above the p95 if nothing changed
+    private static final double EXPECTED_EXCEEDANCE = 0.05;
+    // Differences below this are timer noise, whatever the ratio
+    private static final long MIN_DELTA_MICROS = 1000;
+
+    // Regressions found by suites of this run that should fail it (fail mode only)
+    private static final List<String> failures = new ArrayList<>();
+
+    /**
+     * One action (or test/action pair) whose p95 regressed
+     */
+    public static class Regression {
+        private final String key;
+        private final long baselineP95Micros;
+        private final long currentP95Micros;
+        private final long samples;
+        private final double zScore;
+
+        Regression(String key, long baselineP95Micros, long currentP95Micros, long samples, double zScore) {
+            this.key = key;
+            this.baselineP95Micros = baselineP95Micros;
+            this.currentP95Micros = currentP95Micros;
+            this.samples = samples;
+            this.zScore = zScore;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getBaselineP95Micros() {
+            return baselineP95Micros;
+        }
+
+        public long getCurrentP95Micros() {
+            return currentP95Micros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: p95 %.1f ms -> %.1f ms (+%.0f%%, n=%d, z=%.2f)", key,
+                baselineP95Micros / 1000.0, currentP95Micros / 1000.0,
+                (currentP95Micros - baselineP95Micros) * 100.0 / Math.max(1, baselineP95Micros), samples, zScore);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        String mode = ConfigManager.PERF_REGRESSION_MODE.toLowerCase();
+        if ("off".equals(mode)) return;
+
+        PerformanceBaseline baseline = PerformanceBaseline.load(PerformanceBaseline.BASELINE_FILE);
+        if (baseline == null) {
+            PerformanceBaseline first = PerformanceBaseline.capture(1);
+            if (first.isEmpty()) {
+                Log.info("📏 No performance baseline yet - not saving this run, no action has "
+                    + ConfigManager.PERF_REGRESSION_MIN_SAMPLES + "+ samples");
+                return;
+            }
+            saveBaseline(first);
+            Log.info("📏 No performance baseline yet - saved this run as revision 1 ("
+                + first.getEntries().size() + " entries)");
+            return;
+        }
+
+        List<Regression> regressions = compare(baseline);
+        Log.info(getRegressionReport(baseline, regressions));
+        boolean sameEnvironment = baseline.getEnvironment().equalsIgnoreCase(ConfigManager.ENVIRONMENT);
+        if (!sameEnvironment) {
+            Log.info("⚠️  Performance baseline was recorded in '" + baseline.getEnvironment() + "', this run is '"
+                + ConfigManager.ENVIRONMENT + "' - comparison is informational only"
+                + " (-DperfBaselineUpdate=true to re-record it here)");
+        }
+
+        PerformanceBaseline current = PerformanceBaseline.capture(baseline.getRevision() + 1);
+        if (ConfigManager.PERF_BASELINE_UPDATE) {
+            if (current.isEmpty()) {
+                Log.info("📏 Performance baseline not updated - no action has "
+                    + ConfigManager.PERF_REGRESSION_MIN_SAMPLES + "+ samples");
+            } else {
+                saveBaseline(current);
+                Log.info("📏 Performance baseline updated to revision " + current.getRevision());
+            }
+        } else if (sameEnvironment) {
+            PerformanceBaseline merged = baseline.withMissingFrom(current);
+            int added = merged.getEntries().size() - baseline.getEntries().size();
+            if (added > 0) {
+                saveBaseline(merged);
+                Log.info("📏 Added " + added + " new action(s) to performance baseline revision " + baseline.getRevision());
+            }
+        }
+        if (!regressions.isEmpty() && sameEnvironment && "fail".equals(mode)) {
+            synchronized (failures) {
+                failures.add(suite.getName() + ": " + regressions.size() + " performance regression(s) against baseline revision "
+                    + baseline.getRevision() + ": " + regressions);
+            }
+        }
+    }
+
+    @Override
+    public void onExecutionStart() {
+        synchronized (failures) {
+            failures.clear();
+        }
+    }
+
+    /**
+     * Fail the run after every suite listener and reporter has finished
+     */
+    @Override
+    public void onExecutionFinish() {
+        synchronized (failures) {
+            if (!failures.isEmpty()) {
+                throw new TestNGException(String.join("\n", failures));
+            }
+        }
+    }
+
+    /**
+     * Compare every action (overall and per test) recorded in this run with the baseline
+     */
+    public static List<Regression> compare(PerformanceBaseline baseline) {
+        List<Regression> regressions = new ArrayList<>();
+        for (String action : PerformanceMonitor.getLatencyActions()) {
+            addIfRegressed(regressions, PerformanceBaseline.actionKey(action),
+                baseline, PerformanceMonitor.getLatencyHistogram(action));
+            for (Map.Entry<String, LatencyHistogram> perTest : PerformanceMonitor.getLatencyHistogramsByTest(action).entrySet()) {
+                addIfRegressed(regressions, PerformanceBaseline.testKey(perTest.getKey(), action),
+                    baseline, perTest.getValue());
+            }
+        }
+        return regressions;
+    }
+
+    private static void addIfRegressed(List<Regression> regressions, String key,
+                                       PerformanceBaseline baseline, LatencyHistogram current) {
+        Regression regression = check(key, baseline.get(key), current);
+        if (regression != null) {
+            regressions.add(regression);
+        }
+    }
+
+    /**
+     * Check one histogram against its baseline entry; returns null when it has not regressed
+     */
+    static Regression check(String key, PerformanceBaseline.Entry baseline, LatencyHistogram current) {
+        long samples = current.getCount();
+        if (baseline == null || samples < ConfigManager.PERF_REGRESSION_MIN_SAMPLES) return null;
+
+        long baselineP95 = baseline.getP95Micros();
+        long currentP95 = current.getPercentileMicros(95);
+        if (currentP95 <= baselineP95 * (1 + ConfigManager.PERF_REGRESSION_TOLERANCE)
+                || currentP95 - baselineP95 < MIN_DELTA_MICROS) {
+            return null;
+        }
+
+        // H0: the share of samples above the baseline p95 is still 5%
+        double exceedance = (double) current.getCountAbove(baselineP95) / samples;
+        double zScore = (exceedance - EXPECTED_EXCEEDANCE)
+            / Math.sqrt(EXPECTED_EXCEEDANCE * (1 - EXPECTED_EXCEEDANCE) / samples);
+        if (zScore < normalQuantile(ConfigManager.PERF_REGRESSION_CONFIDENCE)) return null;
+
+        return new Regression(key, baselineP95, currentP95, samples, zScore);
+    }
+
+    /**
+     * Upper-tail standard normal quantile for 0.5 < p < 1 (Abramowitz and Stegun 26.2.23)
+     */
+    static double normalQuantile(double p) {
+        double t = Math.sqrt(-2 * Math.log(1 - p));
+        return t - (2.515517 + 0.802853 * t + 0.010328 * t * t)
+            / (1 + 1.432788 * t + 0.189269 * t * t + 0.001308 * t * t * t);
+    }
+
+    private static void saveBaseline(PerformanceBaseline baseline) {
+        try {
+            baseline.save(PerformanceBaseline.BASELINE_FILE);
+        } catch (IOException e) {
+            Log.info("⚠️  Could not save performance baseline: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the comparison against the baseline as report
+     */
+    public static String getRegressionReport(PerformanceBaseline baseline, List<Regression> regressions) {
+        StringBuilder report = new StringBuilder();
+        report.append("\n=== Performance Regression Check ===\n");
+        report.append(String.format("Baseline revision %d (%s, %s) | tolerance %.0f%% | confidence %.0f%%%n",
+            baseline.getRevision(), baseline.getEnvironment(), baseline.getCreated(),
+            ConfigManager.PERF_REGRESSION_TOLERANCE * 100, ConfigManager.PERF_REGRESSION_CONFIDENCE * 100));
+        if (regressions.isEmpty()) {
+            report.append("✅ No p95 regressions\n");
+        } else {
+            for (Regression regression : regressions) {
+                report.append("❌ ").append(regression).append('\n');
+            }
+        }
+        report.append("====================================\n");
+        return report.toString();
+    }
+}
@@ -0,0 +1,399 @@
+package utils;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProcessSampler - Samples memory, CPU time and threads of each session's chromedriver and Chrome processes
+ * Finds the browser by the --user-data-dir reported in the session capabilities, follows the
+ * process tree under its chromedriver through /proc, and flags sessions whose total RSS crosses
+ * the configured threshold so the pool retires them instead of handing them to the next test
+ */
+public class ProcessSampler {
+
+    private static final File PROC = new File("/proc");
+    // USER_HZ: /proc CPU times are in clock ticks, 100 per second on Linux
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+    // At the default interval this is an hour of samples per test
+    private static final int MAX_SAMPLES = 3600;
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "process-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<WebDriver, Boolean> flaggedSessions = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, ResourceSeries> seriesByTest = new ConcurrentHashMap<>();
+    private static volatile boolean unavailableReported = false;
+
+    /**
+     * Resource usage of a session's process tree at one point in time
+     */
+    public static class Sample {
+        private final long timestampMillis;
+        private final long rssKb;
+        private final long cpuMillis;
+        private final int threads;
+        private final int processes;
+
+        Sample(long timestampMillis, long rssKb, long cpuMillis, int threads, int processes) {
+            this.timestampMillis = timestampMillis;
+            this.rssKb = rssKb;
+            this.cpuMillis = cpuMillis;
+            this.threads = threads;
+            this.processes = processes;
+        }
+
+        public long getTimestampMillis() {
+            return timestampMillis;
+        }
+
+        public long getRssKb() {
+            return rssKb;
+        }
+
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public int getProcesses() {
+            return processes;
+        }
+    }
+
+    /**
+     * Samples taken while one test ran
+     */
+    public static class ResourceSeries {
+        private final String testName;
+        private final List<Sample> samples = new ArrayList<>();
+        private volatile boolean overThreshold;
+
+        ResourceSeries(String testName) {
+            this.testName = testName;
+        }
+
+        synchronized void add(Sample sample) {
+            if (samples.size() == MAX_SAMPLES) {
+                // Keep memory fixed on very long tests: drop every other sample and carry on
+                for (int i = samples.size() - 1; i > 0; i -= 2) {
+                    samples.remove(i);
+                }
+            }
+            samples.add(sample);
+        }
+
+        public String getTestName() {
+            return testName;
+        }
+
+        public synchronized List<Sample> getSamples() {
+            return new ArrayList<>(samples);
+        }
+
+        public synchronized long getPeakRssKb() {
+            long peak = 0;
+            for (Sample sample : samples) {
+                peak = Math.max(peak, sample.rssKb);
+            }
+            return peak;
+        }
+
+        /**
+         * CPU time used by the browser processes during the test (processes that exited are not counted)
+         */
+        public synchronized long getCpuMillis() {
+            if (samples.size() < 2) return 0;
+            return Math.max(0, samples.get(samples.size() - 1).cpuMillis - samples.get(0).cpuMillis);
+        }
+
+        public synchronized int getPeakThreads() {
+            int peak = 0;
+            for (Sample sample : samples) {
+                peak = Math.max(peak, sample.threads);
+            }
+            return peak;
+        }
+
+        public boolean isOverThreshold() {
+            return overThreshold;
+        }
+
+        synchronized void writeCsv(File file) throws IOException {
+            try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                out.write("timestamp_ms,rss_kb,cpu_ms,threads,processes\n");
+                for (Sample sample : samples) {
+                    out.write(sample.timestampMillis + "," + sample.rssKb + "," + sample.cpuMillis + ","
+                        + sample.threads + "," + sample.processes + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Running sampling of one session for one test; close it when the test ends
+     */
+    public static class Sampling implements AutoCloseable {
+        private final WebDriver session;
+        private final int rootPid;
+        private final ResourceSeries series;
+        private ScheduledFuture<?> task;
+
+        Sampling(WebDriver session, int rootPid, ResourceSeries series) {
+            this.session = session;
+            this.rootPid = rootPid;
+            this.series = series;
+        }
+
+        private void sample() {
+            Sample sample = sampleTree(rootPid);
+            if (sample == null) return;
+            series.add(sample);
+            if (!series.overThreshold && sample.rssKb > ConfigManager.PROCESS_RSS_THRESHOLD_MB * 1024L) {
+                series.overThreshold = true;
+                flaggedSessions.put(session, Boolean.TRUE);
+                Log.info("⚠️  Browser session of %s uses %d MB (threshold %d MB) - it will be recycled",
+                    series.testName, sample.rssKb / 1024, ConfigManager.PROCESS_RSS_THRESHOLD_MB);
+            }
+        }
+
+        public ResourceSeries getSeries() {
+            return series;
+        }
+
+        /**
+         * Stop sampling, take a final sample and store the series with the test's metrics
+         */
+        @Override
+        public void close() {
+            task.cancel(false);
+            synchronized (this) {
+                sample();
+            }
+            seriesByTest.put(series.testName, series);
+            PerformanceMonitor.recordTiming("process.cpu", series.getCpuMillis());
+
+            File directory = new File(ConfigManager.PROCESS_SAMPLES_DIR);
+            directory.mkdirs();
+            try {
+                series.writeCsv(new File(directory, series.testName.replaceAll("[^A-Za-z0-9._-]", "_") + ".csv"));
+            } catch (IOException e) {
+                Log.info("⚠️  Could not save process samples: " + e.getMessage());
+            }
+            Log.detail("🧠 %s: peak RSS %d MB | browser CPU %d ms | peak threads %d",
+                series.testName, series.getPeakRssKb() / 1024, series.getCpuMillis(), series.getPeakThreads());
+        }
+    }
+
+    /**
+     * Start sampling a session's processes for one test run, named "<test>-<id>" so retries and
+     * data-provider invocations keep separate series; returns null when /proc or the browser cannot be found
+     */
+    public static Sampling start(WebDriver driver, String name) {
+        WebDriver raw = CdpEvents.unwrap(driver);
+        Integer browserPid = findBrowserPid(raw);
+        if (browserPid == null) {
+            if (!unavailableReported) {
+                unavailableReported = true;
+                Log.info("⚠️  Process sampling unavailable (needs Linux /proc and a local Chrome session)");
+            }
+            return null;
+        }
+
+        // Sample under chromedriver when it launched the browser, so the driver is included
+        Map<Integer, ProcessStat> stats = readAllStats();
+        ProcessStat browser = stats.get(browserPid);
+        int rootPid = browser != null && readCmdline(browser.ppid).contains("chromedriver") ? browser.ppid : browserPid;
+
+        Sampling sampling = new Sampling(raw, rootPid, new ResourceSeries(name));
+        long interval = Math.max(50, ConfigManager.PROCESS_SAMPLE_INTERVAL_MS);
+        sampling.task = scheduler.scheduleAtFixedRate(() -> {
+            synchronized (sampling) {
+                sampling.sample();
+            }
+        }, 0, interval, TimeUnit.MILLISECONDS);
+        return sampling;
+    }
+
+    /**
+     * Check whether a session crossed the memory threshold while it was sampled
+     */
+    public static boolean isFlagged(WebDriver driver) {
+        return flaggedSessions.containsKey(CdpEvents.unwrap(driver));
+    }
+
+    /**
+     * Get the series recorded for a test run ("<test>-<id>"), or null
+     */
+    public static ResourceSeries getSeries(String name) {
+        return seriesByTest.get(name);
+    }
+
+    private static Integer findBrowserPid(WebDriver driver) {
+        if (!PROC.isDirectory() || !(driver instanceof HasCapabilities)) return null;
+        Object chrome = ((HasCapabilities) driver).getCapabilities().getCapability("chrome");
+        Object userDataDir = chrome instanceof Map ? ((Map<?, ?>) chrome).get("userDataDir") : null;
+        if (userDataDir == null) return null;
+
+        String flag = "--user-data-dir=" + userDataDir;
+        for (int pid : listPids()) {
+            String cmdline = readCmdline(pid);
+            // The browser process itself; renderers and helpers carry --type=
+            if (cmdline.contains(flag) && !cmdline.contains("--type=")) {
+                return pid;
+            }
+        }
+        return null;
+    }
+
+    private static Sample sampleTree(int rootPid) {
+        Map<Integer, ProcessStat> stats = readAllStats();
+        if (!stats.containsKey(rootPid)) return null;
+
+        Map<Integer, List<Integer>> children = new HashMap<>();
+        for (ProcessStat stat : stats.values()) {
+            children.computeIfAbsent(stat.ppid, key -> new ArrayList<>()).add(stat.pid);
+        }
+
+        long rssKb = 0;
+        long cpuTicks = 0;
+        int threads = 0;
+        int processes = 0;
+        List<Integer> pending = new ArrayList<>();
+        pending.add(rootPid);
+        while (!pending.isEmpty()) {
+            int pid = pending.remove(pending.size() - 1);
+            ProcessStat stat = stats.get(pid);
+            if (stat == null) continue;
+            rssKb += readRssKb(pid);
+            cpuTicks += stat.cpuTicks;
+            threads += stat.threads;
+            processes++;
+            pending.addAll(children.getOrDefault(pid, Collections.emptyList()));
+        }
+        return new Sample(System.currentTimeMillis(), rssKb, cpuTicks * 1000 / CLOCK_TICKS_PER_SECOND, threads, processes);
+    }
+
+    /**
+     * Fields of /proc/<pid>/stat used for sampling
+     */
+    private static class ProcessStat {
+        final int pid;
+        final int ppid;
+        final long cpuTicks;
+        final int threads;
+
+        ProcessStat(int pid, int ppid, long cpuTicks, int threads) {
+            this.pid = pid;
+            this.ppid = ppid;
+            this.cpuTicks = cpuTicks;
+            this.threads = threads;
+        }
+    }
+
+    private static Map<Integer, ProcessStat> readAllStats() {
+        Map<Integer, ProcessStat> stats = new HashMap<>();
+        for (int pid : listPids()) {
+            ProcessStat stat = readStat(pid);
+            if (stat != null) stats.put(pid, stat);
+        }
+        return stats;
+    }
+
+    private static List<Integer> listPids() {
+        List<Integer> pids = new ArrayList<>();
+        String[] names = PROC.list();
+        if (names == null) return pids;
+        for (String name : names) {
+            if (!name.isEmpty() && Character.isDigit(name.charAt(0))) {
+                try {
+                    pids.add(Integer.parseInt(name));
+                } catch (NumberFormatException e) {
+                    // not a process directory
+                }
+            }
+        }
+        return pids;
+    }
+
+    private static ProcessStat readStat(int pid) {
+        try {
+            String stat = new String(Files.readAllBytes(new File(PROC, pid + "/stat").toPath()), StandardCharsets.UTF_8);
+            // The command name may contain spaces, so fields are counted from its closing parenthesis
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).trim().split(" ");
+            int ppid = Integer.parseInt(fields[1]);
+            long cpuTicks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+            int threads = Integer.parseInt(fields[17]);
+            return new ProcessStat(pid, ppid, cpuTicks, threads);
+        } catch (IOException | RuntimeException e) {
+            // process exited between listing and reading
+            return null;
+        }
+    }
+
+    private static long readRssKb(int pid) {
+        try {
+            for (String line : Files.readAllLines(new File(PROC, pid + "/status").toPath(), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring(6).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // process exited
+        }
+        return 0;
+    }
+
+    private static String readCmdline(int pid) {
+        try {
+            byte[] raw = Files.readAllBytes(new File(PROC, pid + "/cmdline").toPath());
+            return new String(raw, StandardCharsets.UTF_8).replace('\0', ' ');
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Get peak memory, CPU time and threads per test as report
+     */
+    public static String getResourceReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("\n=== Browser Process Resources ===\n");
+        for (ResourceSeries series : new TreeMap<>(seriesByTest).values()) {
+            report.append(String.format("%-45s: peak RSS %5d MB | CPU %7d ms | peak threads %4d%s%n",
+                series.testName, series.getPeakRssKb() / 1024, series.getCpuMillis(), series.getPeakThreads(),
+                series.isOverThreshold() ? " | ⚠️ over threshold" : ""));
+        }
+        report.append("=================================\n");
+        return report.toString();
+    }
+
+    /**
+     * Print process resource summary
+     */
+    public static void printResourceSummary() {
+        Log.info(getResourceReport());
+    }
+}
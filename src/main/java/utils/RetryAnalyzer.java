@@ -15,8 +15,8 @@ public class RetryAnalyzer implements IRetryAnalyzer {
     @Override
     public boolean retry(ITestResult result) {
         if (retryCount < MAX_RETRY) {
-            System.out.println("\n⚠️  Test failed: " + result.getMethod().getMethodName());
-            System.out.println("🔄 Retrying... (Attempt " + (retryCount + 1) + " of " + MAX_RETRY + ")\n");
+            Log.info("\n⚠️  Test failed: " + result.getMethod().getMethodName());
+            Log.info("🔄 Retrying... (Attempt " + (retryCount + 1) + " of " + MAX_RETRY + ")\n");
             retryCount++;
             return true;
         }
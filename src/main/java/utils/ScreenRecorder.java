@@ -0,0 +1,215 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScreenRecorder - Keeps the last seconds of a session's screen in memory, written out only on failure
+ * Frames come from the CDP screencast (Page.screencastFrame) as JPEG and are copied into one
+ * preallocated byte arena per recording, so memory stays fixed however long a test runs; older
+ * frames are overwritten. On failure the buffer is saved as a numbered JPEG sequence, otherwise discarded
+ */
+public class ScreenRecorder implements AutoCloseable {
+
+    // Upper bound on frames kept (Chrome sends at most about 60 per second, usually far fewer)
+    private static final int MAX_FRAMES = 1024;
+
+    private static final Map<WebDriver, ScreenRecorder> active = Collections.synchronizedMap(new WeakHashMap<>());
+    // Frames must be acknowledged before Chrome sends more; acks are sent off the DevTools thread
+    private static final ExecutorService acks = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "screencast-ack");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final WebDriver session;
+    private final CdpEvents events;
+    private final long windowMillis;
+    private CdpEvents.Subscription subscription;
+
+    // Ring of frames in arrival order; frame bytes live in the arena
+    private byte[] arena;
+    private final int[] offsets = new int[MAX_FRAMES];
+    private final int[] lengths = new int[MAX_FRAMES];
+    private final long[] timestamps = new long[MAX_FRAMES];
+    private int oldest;
+    private int count;
+    private int writePosition;
+    private long droppedFrames;
+    // Frames already saved, so a later save continues the sequence instead of overwriting it
+    private int savedFrames;
+    private long firstSavedTimestamp;
+
+    private ScreenRecorder(String name, WebDriver session, CdpEvents events) {
+        this.name = name;
+        this.session = session;
+        this.events = events;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(Math.max(1, ConfigManager.SCREEN_RECORDING_SECONDS));
+        this.arena = new byte[Math.max(1, ConfigManager.SCREEN_RECORDING_BUFFER_MB) * 1024 * 1024];
+    }
+
+    /**
+     * Start buffering a session's screencast; returns null without CDP support
+     */
+    public static ScreenRecorder start(WebDriver driver, String name) {
+        CdpEvents events = CdpEvents.forDriver(driver);
+        if (events == null) {
+            Log.info("⚠️  Screen recording unavailable for " + name + " (no DevTools support)");
+            return null;
+        }
+
+        WebDriver session = CdpEvents.unwrap(driver);
+        ScreenRecorder recorder = new ScreenRecorder(name, session, events);
+        try {
+            recorder.subscription = events.subscribe("Page.screencastFrame", recorder::frame);
+            Map<String, Object> params = new HashMap<>();
+            params.put("format", "jpeg");
+            params.put("quality", ConfigManager.SCREEN_RECORDING_QUALITY);
+            params.put("maxWidth", 1280);
+            params.put("maxHeight", 800);
+            events.send("Page.startScreencast", params);
+        } catch (RuntimeException e) {
+            Log.info("⚠️  Screen recording unavailable for " + name + ": " + e.getMessage());
+            recorder.close();
+            return null;
+        }
+        active.put(session, recorder);
+        return recorder;
+    }
+
+    /**
+     * Save the buffered frames of the recording running on a driver, if any (see ScreenshotUtil)
+     */
+    public static File saveFor(WebDriver driver) {
+        ScreenRecorder recorder = active.get(CdpEvents.unwrap(driver));
+        return recorder != null ? recorder.save() : null;
+    }
+
+    // Runs on the DevTools connection thread: copy the frame and queue the ack, nothing else
+    private void frame(Map<String, Object> params) {
+        Object sessionId = params.get("sessionId");
+        acks.execute(() -> {
+            try {
+                events.send("Page.screencastFrameAck", Collections.singletonMap("sessionId", sessionId));
+            } catch (RuntimeException e) {
+                // screencast stopped or browser gone
+            }
+        });
+
+        Object data = params.get("data");
+        if (!(data instanceof String)) return;
+        long timestamp = System.currentTimeMillis();
+        Object metadata = params.get("metadata");
+        if (metadata instanceof Map && ((Map<?, ?>) metadata).get("timestamp") instanceof Number) {
+            timestamp = (long) (((Number) ((Map<?, ?>) metadata).get("timestamp")).doubleValue() * 1000);
+        }
+        append(Base64.getDecoder().decode((String) data), timestamp);
+    }
+
+    private synchronized void append(byte[] jpeg, long timestamp) {
+        if (arena == null) return;
+        if (jpeg.length > arena.length) {
+            droppedFrames++;
+            return;
+        }
+
+        int start = writePosition;
+        if (start + jpeg.length > arena.length) {
+            // Wrap: frames after the write position are the oldest and are given up with the tail
+            while (count > 0 && offsets[oldest] >= start) {
+                dropOldest();
+            }
+            start = 0;
+        }
+        int end = start + jpeg.length;
+        while (count > 0 && offsets[oldest] < end && offsets[oldest] + lengths[oldest] > start) {
+            dropOldest();
+        }
+        while (count > 0 && (count == MAX_FRAMES || timestamps[oldest] < timestamp - windowMillis)) {
+            dropOldest();
+        }
+
+        System.arraycopy(jpeg, 0, arena, start, jpeg.length);
+        int slot = (oldest + count) % MAX_FRAMES;
+        offsets[slot] = start;
+        lengths[slot] = jpeg.length;
+        timestamps[slot] = timestamp;
+        count++;
+        writePosition = end;
+    }
+
+    private void dropOldest() {
+        oldest = (oldest + 1) % MAX_FRAMES;
+        count--;
+    }
+
+    /**
+     * Write the buffered frames to <SCREEN_RECORDING_DIR>/<name>/ as frame-<n>-<ms>.jpg and empty the buffer;
+     * saving again appends the frames that arrived since, continuing the numbering.
+     * Returns the directory, or null if there were no new frames
+     */
+    public synchronized File save() {
+        if (count == 0) return null;
+        File directory = new File(ConfigManager.SCREEN_RECORDING_DIR, name.replaceAll("[^A-Za-z0-9._-]", "_"));
+        directory.mkdirs();
+        if (savedFrames == 0) {
+            firstSavedTimestamp = timestamps[oldest];
+        }
+        long first = firstSavedTimestamp;
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int slot = (oldest + i) % MAX_FRAMES;
+            File file = new File(directory, String.format("frame-%04d-%06dms.jpg", savedFrames + i,
+                Math.max(0, timestamps[slot] - first)));
+            try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                out.write(arena, offsets[slot], lengths[slot]);
+            } catch (IOException e) {
+                failed.add(file.getName());
+            }
+        }
+        Log.info("🎞️  Saved last %d ms of screen (%d frames) to %s%s",
+            timestamps[(oldest + count - 1) % MAX_FRAMES] - timestamps[oldest], count, directory.getPath(),
+            failed.isEmpty() ? "" : " (" + failed.size() + " frames failed)");
+        savedFrames += count;
+        count = 0;
+        return directory;
+    }
+
+    /**
+     * Stop the screencast and discard whatever was not saved
+     */
+    @Override
+    public void close() {
+        active.remove(session, this);
+        if (subscription != null) {
+            subscription.close();
+        }
+        try {
+            events.send("Page.stopScreencast", Collections.emptyMap());
+        } catch (RuntimeException e) {
+            // browser already gone
+        }
+        synchronized (this) {
+            arena = null;
+            count = 0;
+            if (droppedFrames > 0) {
+                Log.detail("⚠️  %s: %d screencast frames larger than the buffer were dropped", name, droppedFrames);
+            }
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package utils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ScreenshotStore - Content-addressed screenshot storage with deduplication and a disk budget
+ * Each distinct PNG is kept once as <sha256>.png; a capture that is identical, or (within the same
+ * capture group, and only against images stored by this run) perceptually near-identical by 64-bit
+ * difference hash, points at the stored image instead of adding a file. index.tsv is an append-only log of images, captures and evictions
+ * (the latest record wins) that is compacted once it holds mostly stale records; the least recently
+ * used images are evicted when the store grows past its budget
+ */
+public class ScreenshotStore {
+
+    private static final String INDEX_HEADER = "# screenshot index v1";
+    private static final String IMAGE_RECORD = "I";
+    private static final String CAPTURE_RECORD = "C";
+    private static final String EVICTION_RECORD = "E";
+    // Written in place of the difference hash for images that could not be decoded, and of the group
+    // for images that take no part in near-duplicate matching
+    private static final String NO_HASH = "-";
+    private static final String NO_GROUP = "-";
+    // Capture names kept for lookup; the oldest are forgotten first (their images stay until evicted)
+    private static final int MAX_CAPTURES = 10000;
+    // The index is rewritten once it holds this many more records than live entries
+    private static final int COMPACT_SLACK = 1000;
+
+    private static final ScreenshotStore instance = new ScreenshotStore(new File(ConfigManager.SCREENSHOT_DIR),
+        ConfigManager.SCREENSHOT_BUDGET_MB * 1024L * 1024L, ConfigManager.SCREENSHOT_NEAR_DUPLICATE_BITS);
+
+    private final File directory;
+    private final File indexFile;
+    private final long budgetBytes;
+    private final int nearDuplicateBits;
+
+    // Access-ordered, so iteration starts at the least recently used image
+    private final LinkedHashMap<String, StoredImage> images = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Capture> captures = new LinkedHashMap<String, Capture>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Capture> eldest) {
+            return size() > MAX_CAPTURES;
+        }
+    };
+    private long indexRecords;
+    private long totalBytes;
+    private long exactDuplicates;
+    private long nearDuplicates;
+    private long evictions;
+
+    /**
+     * One stored PNG
+     */
+    private static class StoredImage {
+        final String sha256;
+        // null when the PNG could not be decoded, so the image takes no part in near-duplicate matching
+        final Long differenceHash;
+        final long bytes;
+        final String group;
+        long lastUsedMillis;
+        // Images loaded from an earlier run's index are never near-duplicate matches
+        boolean storedThisRun;
+
+        StoredImage(String sha256, Long differenceHash, long bytes, String group, long lastUsedMillis) {
+            this.sha256 = sha256;
+            this.differenceHash = differenceHash;
+            this.bytes = bytes;
+            this.group = group;
+            this.lastUsedMillis = lastUsedMillis;
+        }
+    }
+
+    /**
+     * One named capture and the image it resolved to
+     */
+    private static class Capture {
+        final String sha256;
+        final long capturedMillis;
+
+        Capture(String sha256, long capturedMillis) {
+            this.sha256 = sha256;
+            this.capturedMillis = capturedMillis;
+        }
+    }
+
+    ScreenshotStore(File directory, long budgetBytes, int nearDuplicateBits) {
+        this.directory = directory;
+        this.indexFile = new File(directory, "index.tsv");
+        this.budgetBytes = budgetBytes;
+        this.nearDuplicateBits = nearDuplicateBits;
+        loadIndex();
+    }
+
+    public static ScreenshotStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Store a capture; group limits near-duplicate matching (e.g. the test, outcome and attempt), null
+     * keeps only exact duplicates. Returns the stored image file, which may be one saved for an earlier capture
+     */
+    public File put(String name, String group, byte[] png) throws IOException {
+        name = name.replaceAll("\\s", "_");
+        group = group != null ? group.replaceAll("\\s", "_") : NO_GROUP;
+        // Hashing and decoding run outside the lock so writer threads overlap
+        String sha256 = sha256(png);
+        Long differenceHash = nearDuplicateBits > 0 && !NO_GROUP.equals(group) ? differenceHash(png) : null;
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            StoredImage image = images.get(sha256);
+            if (image != null) {
+                exactDuplicates++;
+            } else {
+                image = findNearDuplicate(group, differenceHash);
+                if (image != null) {
+                    nearDuplicates++;
+                    // Mark as recently used in the access order
+                    images.get(image.sha256);
+                } else {
+                    image = new StoredImage(sha256, differenceHash, png.length, group, now);
+                    image.storedThisRun = true;
+                    directory.mkdirs();
+                    File target = imageFile(sha256);
+                    File temp = new File(directory, sha256 + ".tmp");
+                    Files.write(temp.toPath(), png);
+                    Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    images.put(sha256, image);
+                    totalBytes += png.length;
+                }
+            }
+            image.lastUsedMillis = now;
+            Capture capture = new Capture(image.sha256, now);
+            captures.put(name, capture);
+            List<String> records = new ArrayList<>();
+            records.add(imageRecord(image));
+            records.add(captureRecord(name, capture));
+            evictOverBudget(image.sha256, records);
+            writeIndex(records);
+            return imageFile(image.sha256);
+        }
+    }
+
+    /**
+     * Get the stored image of a capture, or null if it is unknown or was evicted
+     */
+    public synchronized File lookup(String name) {
+        Capture capture = captures.get(name);
+        if (capture == null) return null;
+        StoredImage image = images.get(capture.sha256);
+        if (image == null) return null;
+        image.lastUsedMillis = System.currentTimeMillis();
+        return imageFile(image.sha256);
+    }
+
+    /**
+     * Number of captures recorded in the index (including duplicates)
+     */
+    public synchronized int getCaptureCount() {
+        return captures.size();
+    }
+
+    /**
+     * Number of distinct images on disk
+     */
+    public synchronized int getImageCount() {
+        return images.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Delete every stored image and the index
+     */
+    public synchronized void clear() {
+        for (String sha256 : images.keySet()) {
+            imageFile(sha256).delete();
+        }
+        images.clear();
+        captures.clear();
+        totalBytes = 0;
+        indexRecords = 0;
+        indexFile.delete();
+    }
+
+    private StoredImage findNearDuplicate(String group, Long differenceHash) {
+        if (differenceHash == null) return null;
+        StoredImage closest = null;
+        int closestDistance = nearDuplicateBits + 1;
+        for (StoredImage image : images.values()) {
+            if (!image.storedThisRun || image.differenceHash == null || !image.group.equals(group)) continue;
+            int distance = Long.bitCount(image.differenceHash ^ differenceHash);
+            if (distance < closestDistance) {
+                closest = image;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
+    private void evictOverBudget(String keep, List<String> records) {
+        Iterator<StoredImage> leastRecent = images.values().iterator();
+        boolean evicted = false;
+        while (totalBytes > budgetBytes && leastRecent.hasNext()) {
+            StoredImage image = leastRecent.next();
+            if (image.sha256.equals(keep)) continue;
+            leastRecent.remove();
+            imageFile(image.sha256).delete();
+            totalBytes -= image.bytes;
+            records.add(EVICTION_RECORD + "\t" + image.sha256);
+            evictions++;
+            evicted = true;
+        }
+        if (evicted) {
+            captures.values().removeIf(capture -> !images.containsKey(capture.sha256));
+        }
+    }
+
+    private File imageFile(String sha256) {
+        return new File(directory, sha256 + ".png");
+    }
+
+    private void loadIndex() {
+        if (!indexFile.exists()) return;
+        Map<String, StoredImage> loaded = new LinkedHashMap<>();
+        Map<String, Capture> loadedCaptures = new LinkedHashMap<>();
+        long records = 0;
+        try {
+            for (String line : Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (IMAGE_RECORD.equals(fields[0]) && fields.length == 6) {
+                    Long differenceHash = NO_HASH.equals(fields[2]) ? null : Long.parseUnsignedLong(fields[2], 16);
+                    loaded.put(fields[1], new StoredImage(fields[1], differenceHash,
+                        Long.parseLong(fields[3]), fields[4], Long.parseLong(fields[5])));
+                } else if (CAPTURE_RECORD.equals(fields[0]) && fields.length == 4) {
+                    loadedCaptures.remove(fields[1]);
+                    loadedCaptures.put(fields[1], new Capture(fields[2], Long.parseLong(fields[3])));
+                } else if (EVICTION_RECORD.equals(fields[0]) && fields.length == 2) {
+                    loaded.remove(fields[1]);
+                } else {
+                    continue;
+                }
+                records++;
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.info("⚠️  Ignoring unreadable screenshot index: " + e.getMessage());
+            return;
+        }
+        // Replay in last-used order so the access order matches the previous run
+        List<StoredImage> ordered = new ArrayList<>(loaded.values());
+        ordered.sort((a, b) -> Long.compare(a.lastUsedMillis, b.lastUsedMillis));
+        for (StoredImage image : ordered) {
+            images.put(image.sha256, image);
+            totalBytes += image.bytes;
+        }
+        for (Map.Entry<String, Capture> capture : loadedCaptures.entrySet()) {
+            if (images.containsKey(capture.getValue().sha256)) {
+                captures.put(capture.getKey(), capture.getValue());
+            }
+        }
+        indexRecords = records;
+    }
+
+    private static String imageRecord(StoredImage image) {
+        return IMAGE_RECORD + "\t" + image.sha256 + "\t"
+            + (image.differenceHash != null ? Long.toHexString(image.differenceHash) : NO_HASH) + "\t"
+            + image.bytes + "\t" + image.group + "\t" + image.lastUsedMillis;
+    }
+
+    private static String captureRecord(String name, Capture capture) {
+        return CAPTURE_RECORD + "\t" + name + "\t" + capture.sha256 + "\t" + capture.capturedMillis;
+    }
+
+    /**
+     * Append records to the index, rewriting it instead once stale records outnumber live ones by COMPACT_SLACK
+     */
+    private void writeIndex(List<String> records) throws IOException {
+        if (!indexFile.exists() || indexRecords + records.size() > images.size() + captures.size() + COMPACT_SLACK) {
+            compactIndex();
+            return;
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND)) {
+            for (String record : records) {
+                out.write(record);
+                out.newLine();
+            }
+        }
+        indexRecords += records.size();
+    }
+
+    private void compactIndex() throws IOException {
+        directory.mkdirs();
+        File temp = new File(directory, "index.tsv.tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+            out.write(INDEX_HEADER);
+            out.newLine();
+            for (StoredImage image : images.values()) {
+                out.write(imageRecord(image));
+                out.newLine();
+            }
+            for (Map.Entry<String, Capture> capture : captures.entrySet()) {
+                out.write(captureRecord(capture.getKey(), capture.getValue()));
+                out.newLine();
+            }
+        }
+        Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        indexRecords = images.size() + captures.size();
+    }
+
+    static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 64-bit difference hash: the image shrunk to 9x8 grey cells, one bit per horizontally adjacent pair;
+     * null when the PNG cannot be decoded
+     */
+    static Long differenceHash(byte[] png) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            return null;
+        }
+        if (image == null) return null;
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        long[] sums = new long[9 * 8];
+        int[] counts = new int[9 * 8];
+        for (int y = 0; y < height; y++) {
+            int row = y * 8 / height;
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                int rgb = pixels[offset + x];
+                // Integer luma (ITU-R BT.601 weights)
+                int grey = (((rgb >> 16) & 0xFF) * 299 + ((rgb >> 8) & 0xFF) * 587 + (rgb & 0xFF) * 114) / 1000;
+                int cell = row * 9 + x * 9 / width;
+                sums[cell] += grey;
+                counts[cell]++;
+            }
+        }
+
+        long hash = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                int left = row * 9 + column;
+                // Compare cell averages without dividing: a/ca > b/cb  <=>  a*cb > b*ca
+                boolean brighter = sums[left] * counts[left + 1] > sums[left + 1] * counts[left];
+                hash = (hash << 1) | (brighter ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Get store usage and deduplication as report
+     */
+    public synchronized String getStoreReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("\n=== Screenshot Store ===\n");
+        report.append(String.format("Captures: %d | Images: %d | Size: %.1f MB of %d MB%n",
+            captures.size(), images.size(), totalBytes / (1024.0 * 1024.0), budgetBytes / (1024 * 1024)));
+        report.append(String.format("Exact duplicates: %d | Near duplicates: %d | Evicted: %d%n",
+            exactDuplicates, nearDuplicates, evictions));
+        report.append("========================\n");
+        return report.toString();
+    }
+
+    /**
+     * Print store summary
+     */
+    public void printStoreSummary() {
+        Log.info(getStoreReport());
+    }
+}
@@ -1,22 +1,48 @@
 package utils;
 
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * ScreenshotUtil - Captures screenshots for debugging and reporting
- * Saves screenshots with timestamps and test names
+ * Screenshots are taken as bytes on the test thread and handed to background writers that put them
+ * into the deduplicating ScreenshotStore; capture names carry test, time, thread, attempt and a
+ * sequence number so parallel and retried tests never collide. When the write queue is full the
+ * capturing thread stores the screenshot itself (back-pressure)
  */
 public class ScreenshotUtil {
 
-    private static final String SCREENSHOT_DIR = "screenshots";
+    private static final String SCREENSHOT_DIR = ConfigManager.SCREENSHOT_DIR;
+
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final ThreadPoolExecutor writers = createWriters();
 
     static {
         // Create screenshots directory if not exists
@@ -26,34 +52,105 @@ public class ScreenshotUtil {
         }
     }
 
+    private static ThreadPoolExecutor createWriters() {
+        int threads = Math.max(1, ConfigManager.SCREENSHOT_WRITER_THREADS);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, ConfigManager.SCREENSHOT_QUEUE_CAPACITY)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        // Writers are daemon threads, so finish queued files before the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(ScreenshotUtil::flush, "screenshot-flush"));
+        return executor;
+    }
+
     /**
-     * Capture screenshot with timestamp
+     * Capture screenshot; returns the capture name (resolve it with getScreenshotFile)
      */
     public static String captureScreenshot(WebDriver driver, String testName) {
+        TestContext context = TestContext.get();
+        return captureScreenshot(driver, testName, testName + "_a" + (context != null ? context.getAttempt() : 1));
+    }
+
+    /**
+     * Capture screenshot; near-identical captures of the same group share one stored image (null group: never)
+     */
+    private static String captureScreenshot(WebDriver driver, String testName, String group) {
+        JfrEvents.ScreenshotEvent event = JfrEvents.beginScreenshot();
+        byte[] png;
         try {
-            TakesScreenshot screenshot = (TakesScreenshot) driver;
-            File srcFile = screenshot.getScreenshotAs(OutputType.FILE);
-            
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            String fileName = testName + "_" + timestamp + ".png";
-            String filePath = SCREENSHOT_DIR + File.separator + fileName;
-            
-            Files.copy(srcFile.toPath(), Paths.get(filePath));
-            
-            System.out.println("✅ Screenshot captured: " + filePath);
-            return filePath;
-        } catch (IOException e) {
-            System.out.println("❌ Failed to capture screenshot: " + e.getMessage());
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException e) {
+            Log.info("❌ Failed to capture screenshot: " + e.getMessage());
             return null;
         }
+
+        String name = captureName(testName);
+        event.file = name;
+        event.bytes = png.length;
+
+        String test = TestContext.currentTestName();
+        pending.incrementAndGet();
+        writers.execute(() -> store(name, group, png, test));
+        JfrEvents.commit(event);
+        return name;
+    }
+
+    /**
+     * Unique name: test, millisecond time, thread, attempt and a run-wide sequence number
+     */
+    private static String captureName(String testName) {
+        TestContext context = TestContext.get();
+        int attempt = context != null ? context.getAttempt() : 1;
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss-SSS").format(new Date());
+        return testName.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + timestamp
+            + "_t" + Thread.currentThread().getId() + "_a" + attempt + "_" + sequence.incrementAndGet();
+    }
+
+    private static void store(String name, String group, byte[] png, String test) {
+        JfrEvents.ScreenshotWriteEvent event = JfrEvents.beginScreenshotWrite(name, png.length);
+        try {
+            File file = ScreenshotStore.getInstance().put(name, group, png);
+            event.file = file.getPath();
+            JfrEvents.commit(event, test);
+            Log.info("✅ Screenshot captured: " + name + " -> " + file.getPath());
+        } catch (IOException e) {
+            Log.info("❌ Failed to save screenshot " + name + ": " + e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wait until every captured screenshot has been written (called at suite end)
+     */
+    public static void flush() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (pending.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (pending.get() > 0) {
+            Log.info("⚠️  " + pending.get() + " screenshot(s) still being written");
+        }
     }
 
     /**
      * Capture screenshot on failure
      */
     public static String captureScreenshotOnFailure(WebDriver driver, String testName) {
-        System.out.println("\n📸 Capturing screenshot on failure...");
-        return captureScreenshot(driver, testName + "_FAILURE");
+        Log.info("\n📸 Capturing screenshot on failure...");
+        // Save the moments leading up to the failure too, when the session is being recorded
+        ScreenRecorder.saveFor(driver);
+        // Never substitute a similar image: a toast or a changed amount may be what shows the failure
+        return captureScreenshot(driver, testName + "_FAILURE", null);
     }
 
     /**
@@ -63,6 +160,124 @@ public class ScreenshotUtil {
         return captureScreenshot(driver, testName + "_SUCCESS");
     }
 
+    /**
+     * Compare the full page (the viewport without DevTools) with the stored baseline
+     * <VISUAL_BASELINE_DIR>/<name>.png, ignoring the areas of the given elements (e.g. timers, amounts).
+     * Saves the baseline when there is none (or when updating baselines) and returns null; otherwise
+     * returns the result and saves a diff image on mismatch
+     */
+    public static VisualDiff.Result compareWithBaseline(WebDriver driver, String name, By... ignore) {
+        String fileName = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        File baselineFile = new File(ConfigManager.VISUAL_BASELINE_DIR, fileName + ".png");
+        try {
+            byte[] png = fullPageScreenshot(driver);
+            boolean fullPage = png != null;
+            if (!fullPage) {
+                png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            }
+            if (!baselineFile.exists() || ConfigManager.VISUAL_BASELINE_UPDATE) {
+                baselineFile.getParentFile().mkdirs();
+                Files.write(baselineFile.toPath(), png);
+                Log.info("📐 Visual baseline saved: " + baselineFile.getPath());
+                return null;
+            }
+
+            List<Rectangle> regions = ignoreRegions(driver, fullPage, ignore);
+            BufferedImage actual = ImageIO.read(new ByteArrayInputStream(png));
+            BufferedImage baseline = ImageIO.read(baselineFile);
+            if (actual == null || baseline == null) {
+                Log.info("❌ Visual comparison skipped for " + name + ": unreadable image");
+                return null;
+            }
+            VisualDiff.Result result = VisualDiff.compare(baseline, actual, regions, ConfigManager.VISUAL_PIXEL_TOLERANCE);
+            PerformanceMonitor.recordLatency("visual.compare", (long) (result.getMillis() * 1_000_000));
+
+            if (result.matches(ConfigManager.VISUAL_DIFF_THRESHOLD)) {
+                Log.detail("📐 %s matches baseline: %s", name, result.toString());
+            } else {
+                File diffFile = new File(ConfigManager.VISUAL_DIFF_DIR, fileName + "_" + captureName("diff") + ".png");
+                Log.info("❌ Visual difference on %s: %s -> %s", name, result.toString(), diffFile.getPath());
+                pending.incrementAndGet();
+                writers.execute(() -> writeDiff(result.getDiffImage(), diffFile));
+            }
+            return result;
+        } catch (IOException | WebDriverException e) {
+            Log.info("❌ Visual comparison failed for " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * PNG of the whole page via CDP (Page.captureScreenshot beyond the viewport), or null when the
+     * browser has no DevTools support
+     */
+    @SuppressWarnings("unchecked")
+    private static byte[] fullPageScreenshot(WebDriver driver) {
+        CdpEvents events = CdpEvents.forDriver(driver);
+        if (events == null) return null;
+        try {
+            Map<String, Object> metrics = events.send("Page.getLayoutMetrics", Collections.emptyMap());
+            Map<String, Object> content = (Map<String, Object>) metrics.getOrDefault("cssContentSize", metrics.get("contentSize"));
+            Map<String, Object> clip = new HashMap<>();
+            clip.put("x", 0);
+            clip.put("y", 0);
+            clip.put("width", ((Number) content.get("width")).doubleValue());
+            clip.put("height", ((Number) content.get("height")).doubleValue());
+            clip.put("scale", 1);
+            Map<String, Object> params = new HashMap<>();
+            params.put("format", "png");
+            params.put("captureBeyondViewport", true);
+            params.put("clip", clip);
+            return Base64.getDecoder().decode((String) events.send("Page.captureScreenshot", params).get("data"));
+        } catch (RuntimeException e) {
+            Log.detail("📐 Full-page capture unavailable, comparing the viewport: %s", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Screen rectangles (device pixels) of the elements to ignore; full-page captures start at the
+     * top of the document, viewport captures at the scroll position
+     */
+    private static List<Rectangle> ignoreRegions(WebDriver driver, boolean fullPage, By... ignore) {
+        List<Rectangle> regions = new ArrayList<>();
+        if (ignore.length == 0) return regions;
+        @SuppressWarnings("unchecked")
+        List<Number> viewport = (List<Number>) ((JavascriptExecutor) driver).executeScript(
+            "return [window.devicePixelRatio || 1, window.scrollX, window.scrollY];");
+        double ratio = viewport.get(0).doubleValue();
+        double scrollX = fullPage ? 0 : viewport.get(1).doubleValue();
+        double scrollY = fullPage ? 0 : viewport.get(2).doubleValue();
+        for (By locator : ignore) {
+            for (WebElement element : driver.findElements(locator)) {
+                org.openqa.selenium.Rectangle rect = element.getRect();
+                regions.add(new Rectangle(
+                    (int) Math.floor((rect.getX() - scrollX) * ratio), (int) Math.floor((rect.getY() - scrollY) * ratio),
+                    (int) Math.ceil(rect.getWidth() * ratio) + 1, (int) Math.ceil(rect.getHeight() * ratio) + 1));
+            }
+        }
+        return regions;
+    }
+
+    private static void writeDiff(BufferedImage diff, File file) {
+        try {
+            file.getParentFile().mkdirs();
+            ImageIO.write(diff, "png", file);
+        } catch (IOException e) {
+            Log.info("❌ Failed to save visual diff " + file.getPath() + ": " + e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the stored image of a capture once it is written, or null if unknown or evicted
+     */
+    public static File getScreenshotFile(String name) {
+        flush();
+        return ScreenshotStore.getInstance().lookup(name);
+    }
+
     /**
      * Get screenshot directory
      */
@@ -74,27 +289,16 @@ public class ScreenshotUtil {
      * Clear all screenshots
      */
     public static void clearScreenshots() {
-        File dir = new File(SCREENSHOT_DIR);
-        if (dir.exists() && dir.isDirectory()) {
-            File[] files = dir.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    file.delete();
-                }
-            }
-            System.out.println("✅ Screenshots cleared");
-        }
+        flush();
+        ScreenshotStore.getInstance().clear();
+        Log.info("✅ Screenshots cleared");
     }
 
     /**
-     * Count screenshots
+     * Count screenshots (captures in the store index, duplicates included)
      */
     public static int countScreenshots() {
-        File dir = new File(SCREENSHOT_DIR);
-        if (dir.exists() && dir.isDirectory()) {
-            File[] files = dir.listFiles();
-            return files != null ? files.length : 0;
-        }
-        return 0;
+        flush();
+        return ScreenshotStore.getInstance().getCaptureCount();
     }
 }
@@ -0,0 +1,152 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SmartLocator - A locator made of XPath alternatives that remembers which one matches
+ * Tries the alternative that matched last time in this environment first and falls back to the
+ * whole "a | b | c" union as one query, so a lookup costs at most two round trips (one while no
+ * alternative is known yet) and a fallback keeps the union's document order
+ */
+public class SmartLocator extends By {
+
+    private final String name;
+    private final List<String> alternatives;
+    private final String union;
+
+    public SmartLocator(String name, List<String> alternatives) {
+        if (alternatives.isEmpty()) {
+            throw new IllegalArgumentException("Locator " + name + " has no alternatives");
+        }
+        this.name = name;
+        this.alternatives = Collections.unmodifiableList(new ArrayList<>(alternatives));
+        this.union = String.join(" | ", this.alternatives);
+    }
+
+    /**
+     * Build a locator from an XPath union, one alternative per top-level branch
+     */
+    public static SmartLocator xpathUnion(String name, String xpath) {
+        return new SmartLocator(name, splitUnion(xpath));
+    }
+
+    /**
+     * Split an XPath expression at top-level "|" operators (ignoring those in predicates or strings)
+     */
+    static List<String> splitUnion(String xpath) {
+        List<String> branches = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < xpath.length(); i++) {
+            char c = xpath.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                branches.add(xpath.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        branches.add(xpath.substring(start).trim());
+        return branches;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getAlternatives() {
+        return alternatives;
+    }
+
+    /**
+     * Get alternative indexes in lookup order: the remembered one first, then the rest as declared
+     */
+    public int[] lookupOrder() {
+        int first = LocatorRegistry.getPreferred(name);
+        int[] order = new int[alternatives.size()];
+        int position = 0;
+        if (first >= 0 && first < order.length) {
+            order[position++] = first;
+        }
+        for (int i = 0; i < order.length; i++) {
+            if (i != first) order[position++] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Record that an alternative matched during a lookup done elsewhere (e.g. in a batched script)
+     */
+    public void recordMatch(int alternative, long nanos) {
+        LocatorRegistry.recordLookup(name, alternative, true, nanos);
+        LocatorRegistry.remember(name, alternative);
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        int preferred = LocatorRegistry.getPreferred(name);
+        boolean known = preferred >= 0 && preferred < alternatives.size();
+        if (known) {
+            long start = System.nanoTime();
+            List<WebElement> found = context.findElements(By.xpath(alternatives.get(preferred)));
+            long nanos = System.nanoTime() - start;
+            if (!found.isEmpty()) {
+                recordMatch(preferred, nanos);
+                return found;
+            }
+            LocatorRegistry.recordLookup(name, preferred, false, nanos);
+        }
+
+        List<WebElement> found = context.findElements(By.xpath(union));
+        if (!found.isEmpty() && alternatives.size() > 1) {
+            learnAlternative(context, known ? preferred : -1);
+        }
+        return found;
+    }
+
+    /**
+     * After the union matched, find (and remember) the first alternative that matches on its own;
+     * runs only until an alternative is known, never on the misses a polling wait repeats
+     */
+    private void learnAlternative(SearchContext context, int skip) {
+        for (int alternative = 0; alternative < alternatives.size(); alternative++) {
+            if (alternative == skip) continue;
+            long start = System.nanoTime();
+            boolean matched = !context.findElements(By.xpath(alternatives.get(alternative))).isEmpty();
+            long nanos = System.nanoTime() - start;
+            if (matched) {
+                recordMatch(alternative, nanos);
+                return;
+            }
+            LocatorRegistry.recordLookup(name, alternative, false, nanos);
+        }
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        List<WebElement> found = findElements(context);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate " + this);
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public String toString() {
+        return "SmartLocator." + name + ": " + alternatives;
+    }
+}
@@ -0,0 +1,76 @@
+package utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TestContext - Identifies the test running on the current thread
+ * Lets utilities tag metrics, logs and artifacts with the test name, a unique run id and
+ * the attempt number without passing them through every page object
+ */
+public class TestContext {
+
+    private static final ThreadLocal<TestContext> current = new ThreadLocal<>();
+    private static final AtomicLong nextId = new AtomicLong();
+    private static final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+
+    private final String testName;
+    private final long testId;
+    private final int attempt;
+
+    private TestContext(String testName, long testId, int attempt) {
+        this.testName = testName;
+        this.testId = testId;
+        this.attempt = attempt;
+    }
+
+    /**
+     * Mark the start of a test on the current thread; attemptKey identifies retries of the same invocation
+     */
+    public static TestContext begin(String testName, String attemptKey) {
+        int attempt = attempts.merge(attemptKey, 1, Integer::sum);
+        TestContext context = new TestContext(testName, nextId.incrementAndGet(), attempt);
+        current.set(context);
+        return context;
+    }
+
+    /**
+     * Clear the test of the current thread
+     */
+    public static void end() {
+        current.remove();
+    }
+
+    /**
+     * Get the test running on the current thread, or null outside a test
+     */
+    public static TestContext get() {
+        return current.get();
+    }
+
+    /**
+     * Get the current test name, or "-" outside a test
+     */
+    public static String currentTestName() {
+        TestContext context = current.get();
+        return context != null ? context.testName : "-";
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    public long getTestId() {
+        return testId;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+
+    @Override
+    public String toString() {
+        return testName + "#" + testId + (attempt > 1 ? " (attempt " + attempt + ")" : "");
+    }
+}
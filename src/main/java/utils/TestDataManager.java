@@ -1,7 +1,11 @@
 package utils;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * TestDataManager - Centralized test data management for payment automation
@@ -79,142 +83,179 @@ public class TestDataManager {
     public static final int LONG_WAIT_TIME = 30;
     public static final int EXTENDED_WAIT_TIME = 60;
 
+    // Test Data Sets (random pickers read the arrays directly; getters share read-only views of them)
+    private static final String[] UPI_IDS = {VALID_UPI_1, VALID_UPI_2, VALID_UPI_3};
+    private static final String[] CREDIT_CARDS = {VALID_CREDIT_CARD, VALID_CREDIT_CARD_2};
+    private static final String[] DEBIT_CARDS = {VALID_DEBIT_CARD, VALID_DEBIT_CARD_2};
+    private static final String[] CARDHOLDER_NAMES = {VALID_CARDHOLDER_NAME, VALID_CARDHOLDER_NAME_2};
+    private static final String[] EXPIRY_DATES = {VALID_EXPIRY_DATE, VALID_EXPIRY_DATE_2, EXPIRED_EXPIRY_DATE};
+    private static final String[] CVV_VALUES = {VALID_CVV, VALID_CVV_2, INVALID_CVV};
+    private static final String[] MOBILE_NUMBERS = {VALID_MOBILE_1, VALID_MOBILE_2, VALID_MOBILE_3};
+    static final String[] BANK_NAMES = {HDFC_BANK, ICICI_BANK, SBI_BANK, AXIS_BANK, KOTAK_BANK};
+    private static final String[] TEST_AMOUNTS = {SMALL_AMOUNT, MEDIUM_AMOUNT, LARGE_AMOUNT};
+
+    private static final List<String> UPI_ID_LIST = readOnly(UPI_IDS);
+    private static final List<String> CREDIT_CARD_LIST = readOnly(CREDIT_CARDS);
+    private static final List<String> DEBIT_CARD_LIST = readOnly(DEBIT_CARDS);
+    private static final List<String> CARDHOLDER_NAME_LIST = readOnly(CARDHOLDER_NAMES);
+    private static final List<String> EXPIRY_DATE_LIST = readOnly(EXPIRY_DATES);
+    private static final List<String> CVV_VALUE_LIST = readOnly(CVV_VALUES);
+    private static final List<String> MOBILE_NUMBER_LIST = readOnly(MOBILE_NUMBERS);
+    private static final List<String> BANK_NAME_LIST = readOnly(BANK_NAMES);
+    private static final List<String> TEST_AMOUNT_LIST = readOnly(TEST_AMOUNTS);
+
     // Test Metadata
-    private static Map<String, String> testMetadata = new HashMap<>();
+    private static final Map<String, String> testMetadata = new ConcurrentHashMap<>();
 
     /**
      * Get all valid UPI IDs for testing
      */
-    public static String[] getValidUPIIds() {
-        return new String[]{VALID_UPI_1, VALID_UPI_2, VALID_UPI_3};
+    public static List<String> getValidUPIIds() {
+        return UPI_ID_LIST;
     }
 
     /**
      * Get all valid credit card numbers
      */
-    public static String[] getValidCreditCards() {
-        return new String[]{VALID_CREDIT_CARD, VALID_CREDIT_CARD_2};
+    public static List<String> getValidCreditCards() {
+        return CREDIT_CARD_LIST;
     }
 
     /**
      * Get all valid debit card numbers
      */
-    public static String[] getValidDebitCards() {
-        return new String[]{VALID_DEBIT_CARD, VALID_DEBIT_CARD_2};
+    public static List<String> getValidDebitCards() {
+        return DEBIT_CARD_LIST;
     }
 
     /**
      * Get all cardholder names
      */
-    public static String[] getCardholderNames() {
-        return new String[]{VALID_CARDHOLDER_NAME, VALID_CARDHOLDER_NAME_2};
+    public static List<String> getCardholderNames() {
+        return CARDHOLDER_NAME_LIST;
     }
 
     /**
      * Get all expiry dates (valid and invalid)
      */
-    public static String[] getExpiryDates() {
-        return new String[]{VALID_EXPIRY_DATE, VALID_EXPIRY_DATE_2, EXPIRED_EXPIRY_DATE};
+    public static List<String> getExpiryDates() {
+        return EXPIRY_DATE_LIST;
     }
 
     /**
      * Get all CVV values (valid and invalid)
      */
-    public static String[] getCVVValues() {
-        return new String[]{VALID_CVV, VALID_CVV_2, INVALID_CVV};
+    public static List<String> getCVVValues() {
+        return CVV_VALUE_LIST;
     }
 
     /**
      * Get all mobile numbers
      */
-    public static String[] getMobileNumbers() {
-        return new String[]{VALID_MOBILE_1, VALID_MOBILE_2, VALID_MOBILE_3};
+    public static List<String> getMobileNumbers() {
+        return MOBILE_NUMBER_LIST;
     }
 
     /**
      * Get all bank names
      */
-    public static String[] getBankNames() {
-        return new String[]{HDFC_BANK, ICICI_BANK, SBI_BANK, AXIS_BANK, KOTAK_BANK};
+    public static List<String> getBankNames() {
+        return BANK_NAME_LIST;
     }
 
     /**
      * Get all test amounts
      */
-    public static String[] getTestAmounts() {
-        return new String[]{SMALL_AMOUNT, MEDIUM_AMOUNT, LARGE_AMOUNT};
+    public static List<String> getTestAmounts() {
+        return TEST_AMOUNT_LIST;
     }
 
     /**
      * Get random UPI ID from valid list
      */
     public static String getRandomValidUPI() {
-        String[] upis = getValidUPIIds();
-        return upis[(int) (Math.random() * upis.length)];
+        return pick(UPI_IDS);
     }
 
     /**
      * Get random credit card from valid list
      */
     public static String getRandomValidCreditCard() {
-        String[] cards = getValidCreditCards();
-        return cards[(int) (Math.random() * cards.length)];
+        return pick(CREDIT_CARDS);
     }
 
     /**
      * Get random debit card from valid list
      */
     public static String getRandomValidDebitCard() {
-        String[] cards = getValidDebitCards();
-        return cards[(int) (Math.random() * cards.length)];
+        return pick(DEBIT_CARDS);
     }
 
     /**
      * Get random cardholder name
      */
     public static String getRandomCardholderName() {
-        String[] names = getCardholderNames();
-        return names[(int) (Math.random() * names.length)];
+        return pick(CARDHOLDER_NAMES);
     }
 
     /**
      * Get random expiry date
      */
     public static String getRandomExpiryDate() {
-        String[] dates = getExpiryDates();
-        return dates[(int) (Math.random() * dates.length)];
+        return pick(EXPIRY_DATES);
     }
 
     /**
      * Get random CVV
      */
     public static String getRandomCVV() {
-        String[] cvvs = getCVVValues();
-        return cvvs[(int) (Math.random() * cvvs.length)];
+        return pick(CVV_VALUES);
     }
 
     /**
      * Get random mobile number
      */
     public static String getRandomMobileNumber() {
-        String[] mobiles = getMobileNumbers();
-        return mobiles[(int) (Math.random() * mobiles.length)];
+        return pick(MOBILE_NUMBERS);
     }
 
     /**
      * Get random bank name
      */
     public static String getRandomBankName() {
-        String[] banks = getBankNames();
-        return banks[(int) (Math.random() * banks.length)];
+        return pick(BANK_NAMES);
     }
 
     /**
      * Get random amount
      */
     public static String getRandomAmount() {
-        String[] amounts = getTestAmounts();
-        return amounts[(int) (Math.random() * amounts.length)];
+        return pick(TEST_AMOUNTS);
+    }
+
+    private static List<String> readOnly(String[] values) {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * Pick an element with the calling thread's random generator (no shared RNG contention)
+     */
+    private static String pick(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    /**
+     * Get the seeded generator for high-volume synthetic data (see PaymentDataGenerator)
+     */
+    public static PaymentDataGenerator generator() {
+        return PaymentDataGenerator.getShared();
+    }
+
+    /**
+     * Get the configured external data file (-DdataFile), or null (see PaymentDataFile)
+     */
+    public static PaymentDataFile dataFile() {
+        return PaymentDataFile.configured();
     }
 
     /**
@@ -242,14 +283,16 @@ public class TestDataManager {
      * Print all test data summary
      */
     public static void printTestDataSummary() {
-        System.out.println("\n=== Test Data Summary ===");
-        System.out.println("Valid UPIs: " + getValidUPIIds().length);
-        System.out.println("Valid Credit Cards: " + getValidCreditCards().length);
-        System.out.println("Valid Debit Cards: " + getValidDebitCards().length);
-        System.out.println("Cardholder Names: " + getCardholderNames().length);
-        System.out.println("Mobile Numbers: " + getMobileNumbers().length);
-        System.out.println("Bank Names: " + getBankNames().length);
-        System.out.println("Test Amounts: " + getTestAmounts().length);
-        System.out.println("========================\n");
+        Log.info("\n=== Test Data Summary ===");
+        Log.info("Valid UPIs: " + getValidUPIIds().size());
+        Log.info("Valid Credit Cards: " + getValidCreditCards().size());
+        Log.info("Valid Debit Cards: " + getValidDebitCards().size());
+        Log.info("Cardholder Names: " + getCardholderNames().size());
+        Log.info("Mobile Numbers: " + getMobileNumbers().size());
+        Log.info("Bank Names: " + getBankNames().size());
+        Log.info("Test Amounts: " + getTestAmounts().size());
+        Log.info("Generated Records: " + ConfigManager.GENERATED_RECORDS + " per provider (seed "
+            + ConfigManager.TEST_DATA_SEED + ", expiries from " + ConfigManager.TEST_DATA_REFERENCE_MONTH + ")");
+        Log.info("========================\n");
     }
 }
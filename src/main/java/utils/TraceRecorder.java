@@ -0,0 +1,286 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TraceRecorder - Records tests, page-object methods, WebDriver commands and waits as nested spans
+ * Spans are written as Chrome trace-event JSON (open in Perfetto or chrome://tracing), one track per
+ * thread. Test threads only enqueue events into a bounded buffer; a background thread formats and
+ * writes them, and events are dropped (and counted) rather than blocking when the buffer is full
+ */
+public class TraceRecorder {
+
+    private static final boolean ENABLED = ConfigManager.TRACE_ENABLED;
+    // Timestamps count from JVM start, so spans begun before this class loaded stay positive
+    private static final long ORIGIN_NANOS = System.nanoTime()
+        - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+    private static final TraceEvent END_OF_TRACE = new TraceEvent(null, null, 'E', 0, 0, 0, null);
+    private static final String PAGES_PACKAGE = "pages.";
+    private static final String BASE_PAGE = "pages.BasePage";
+
+    private static final BlockingQueue<TraceEvent> buffer = new ArrayBlockingQueue<>(Math.max(1, ConfigManager.TRACE_BUFFER_EVENTS));
+    private static final LongAdder dropped = new LongAdder();
+    private static final ThreadLocal<Boolean> threadNamed = new ThreadLocal<>();
+    private static final ThreadLocal<PageSpan> pageSpan = new ThreadLocal<>();
+
+    private static File traceFile;
+    private static volatile Thread writer;
+    private static volatile boolean closed;
+
+    /**
+     * One trace event; "X" (complete span) or "M" (thread name metadata)
+     */
+    private static class TraceEvent {
+        final String name;
+        final String category;
+        final char phase;
+        final long startNanos;
+        final long durationNanos;
+        final long threadId;
+        final Map<String, ?> args;
+
+        TraceEvent(String name, String category, char phase, long startNanos, long durationNanos,
+                   long threadId, Map<String, ?> args) {
+            this.name = name;
+            this.category = category;
+            this.phase = phase;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.threadId = threadId;
+            this.args = args;
+        }
+    }
+
+    /**
+     * Page-object method span being inferred on a thread from the activity inside it
+     */
+    private static class PageSpan {
+        final String name;
+        final String invocation;
+        long startNanos;
+        long endNanos;
+
+        PageSpan(String name, String invocation, long startNanos, long endNanos) {
+            this.name = name;
+            this.invocation = invocation;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+
+    /**
+     * Span closed with try-with-resources
+     */
+    public static class Span implements AutoCloseable {
+        private final String name;
+        private final String category;
+        private final long startNanos = System.nanoTime();
+
+        Span(String name, String category) {
+            this.name = name;
+            this.category = category;
+        }
+
+        @Override
+        public void close() {
+            complete(name, category, startNanos, System.nanoTime(), null);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Open a span that ends when closed
+     */
+    public static Span span(String name, String category) {
+        return new Span(name, category);
+    }
+
+    /**
+     * Record a finished span on the current thread; times are System.nanoTime() values
+     */
+    public static void complete(String name, String category, long startNanos, long endNanos, Map<String, ?> args) {
+        if (!ENABLED) return;
+        Thread thread = Thread.currentThread();
+        if (threadNamed.get() == null) {
+            threadNamed.set(Boolean.TRUE);
+            enqueue(new TraceEvent(thread.getName(), null, 'M', 0, 0, thread.getId(), null));
+        }
+        enqueue(new TraceEvent(name, category, 'X', startNanos, Math.max(0, endNanos - startNanos), thread.getId(), args));
+    }
+
+    /**
+     * Record a wait (locator, settle, readiness) as a span inside the page-object method that waited
+     */
+    public static void recordWait(String name, long startNanos, long endNanos) {
+        if (!ENABLED) return;
+        complete(name, "wait", startNanos, endNanos, null);
+        pageActivity(startNanos, endNanos);
+    }
+
+    /**
+     * Note framework activity (a command or wait) so the page-object method issuing it gets a span;
+     * consecutive activity from the same method invocation extends one span
+     */
+    public static void pageActivity(long startNanos, long endNanos) {
+        if (!ENABLED) return;
+        StackTraceElement[] frames = Thread.currentThread().getStackTrace();
+        for (int i = 0; i < frames.length; i++) {
+            String className = frames[i].getClassName();
+            if (!className.startsWith(PAGES_PACKAGE) || className.equals(BASE_PAGE)) continue;
+
+            String name = className.substring(PAGES_PACKAGE.length()) + "." + frames[i].getMethodName();
+            // Depth plus call site tells apart two calls of the same method
+            String invocation = (frames.length - i) + "@" + (i + 1 < frames.length ? frames[i + 1] : "");
+            PageSpan current = pageSpan.get();
+            if (current != null && current.invocation.equals(invocation)) {
+                current.startNanos = Math.min(current.startNanos, startNanos);
+                current.endNanos = Math.max(current.endNanos, endNanos);
+            } else {
+                flushThread();
+                pageSpan.set(new PageSpan(name, invocation, startNanos, endNanos));
+            }
+            return;
+        }
+    }
+
+    /**
+     * Emit the page-object span still open on this thread (call when a test ends)
+     */
+    public static void flushThread() {
+        PageSpan current = pageSpan.get();
+        if (current != null) {
+            pageSpan.remove();
+            complete(current.name, "page", current.startNanos, current.endNanos, null);
+        }
+    }
+
+    private static void enqueue(TraceEvent event) {
+        if (closed) return;
+        if (writer == null) ensureWriter();
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private static synchronized void ensureWriter() {
+        if (writer != null || closed) return;
+        File directory = new File(ConfigManager.TRACE_DIR);
+        directory.mkdirs();
+        traceFile = new File(directory, "trace-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json");
+        writer = new Thread(TraceRecorder::writeEvents, "trace-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(TraceRecorder::close, "trace-close"));
+    }
+
+    private static void writeEvents() {
+        try (BufferedWriter out = Files.newBufferedWriter(traceFile.toPath(), StandardCharsets.UTF_8)) {
+            out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+            boolean first = true;
+            while (true) {
+                TraceEvent event = buffer.take();
+                if (event == END_OF_TRACE) break;
+                if (!first) out.write(",\n");
+                writeEvent(out, event);
+                first = false;
+                if (buffer.isEmpty()) out.flush();
+            }
+            out.write("\n],\"otherData\":{\"droppedEvents\":" + dropped.sum() + "}}\n");
+        } catch (IOException e) {
+            Log.info("⚠️  Trace writing stopped: " + e.getMessage());
+            buffer.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void writeEvent(BufferedWriter out, TraceEvent event) throws IOException {
+        StringBuilder json = new StringBuilder(128);
+        if (event.phase == 'M') {
+            json.append("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":1,\"tid\":").append(event.threadId)
+                .append(",\"args\":{\"name\":");
+            appendString(json, event.name);
+            json.append("}}");
+        } else {
+            json.append("{\"ph\":\"X\",\"name\":");
+            appendString(json, event.name);
+            json.append(",\"cat\":");
+            appendString(json, event.category);
+            json.append(",\"pid\":1,\"tid\":").append(event.threadId)
+                .append(",\"ts\":").append(micros(event.startNanos - ORIGIN_NANOS))
+                .append(",\"dur\":").append(micros(event.durationNanos));
+            if (event.args != null && !event.args.isEmpty()) {
+                json.append(",\"args\":{");
+                boolean first = true;
+                for (Map.Entry<String, ?> arg : event.args.entrySet()) {
+                    if (!first) json.append(',');
+                    appendString(json, arg.getKey());
+                    json.append(':');
+                    if (arg.getValue() instanceof Number || arg.getValue() instanceof Boolean) {
+                        json.append(arg.getValue());
+                    } else {
+                        appendString(json, String.valueOf(arg.getValue()));
+                    }
+                    first = false;
+                }
+                json.append('}');
+            }
+            json.append('}');
+        }
+        out.write(json.toString());
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Write out every buffered event and finish the trace file; later events are ignored
+     */
+    public static synchronized void close() {
+        if (writer == null || closed) return;
+        closed = true;
+        try {
+            // A writer that stopped on an I/O error no longer drains the buffer, so never block on it
+            if (writer.isAlive() && buffer.offer(END_OF_TRACE, 30, TimeUnit.SECONDS)) {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Log.info("🧵 Trace written to " + traceFile.getPath()
+            + (dropped.sum() > 0 ? " (" + dropped.sum() + " events dropped)" : "")
+            + " - open in https://ui.perfetto.dev or chrome://tracing");
+    }
+}
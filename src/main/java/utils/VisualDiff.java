@@ -0,0 +1,307 @@
+package utils;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * VisualDiff - Parallel pixel comparison of a screenshot against its baseline
+ * The image is cut into square tiles that fork/join tasks compare on the raw int pixel arrays;
+ * ignore regions are skipped as row spans. The result carries a diff score, and on request an image
+ * with differing pixels in red over a faded copy of the capture (rendered by a second pass, so
+ * matching captures cost no image allocation)
+ */
+public class VisualDiff {
+
+    private static final int TILE = 64;
+    // Tiles compared by one task before it stops splitting
+    private static final int TILES_PER_TASK = 16;
+
+    private static final int DIFF_COLOR = 0xFFFF0000;
+    private static final int IGNORED_COLOR = 0xFF3060C0;
+
+    /**
+     * Outcome of one comparison
+     */
+    public static class Result {
+        private final Comparison comparison;
+        private final long differentPixels;
+        private final long comparedPixels;
+        private final int changedTiles;
+        private final long nanos;
+        private BufferedImage diffImage;
+
+        Result(Comparison comparison, long differentPixels, long comparedPixels, int changedTiles, long nanos) {
+            this.comparison = comparison;
+            this.differentPixels = differentPixels;
+            this.comparedPixels = comparedPixels;
+            this.changedTiles = changedTiles;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Share of compared pixels that differ, 0.0 (identical) to 1.0
+         */
+        public double getScore() {
+            return comparedPixels == 0 ? 0 : (double) differentPixels / comparedPixels;
+        }
+
+        public long getDifferentPixels() {
+            return differentPixels;
+        }
+
+        public int getChangedTiles() {
+            return changedTiles;
+        }
+
+        /**
+         * Get the highlighted diff image, rendering it on first use
+         */
+        public synchronized BufferedImage getDiffImage() {
+            if (diffImage == null) {
+                diffImage = new BufferedImage(comparison.width, comparison.height, BufferedImage.TYPE_INT_RGB);
+                // Tasks write straight into the image's pixel array
+                int[] diff = ((DataBufferInt) diffImage.getRaster().getDataBuffer()).getData();
+                ForkJoinPool.commonPool().invoke(new TileTask(comparison, diff, 0, comparison.tileCount()));
+            }
+            return diffImage;
+        }
+
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+
+        /**
+         * Check whether the difference is within a score threshold
+         */
+        public boolean matches(double threshold) {
+            return getScore() <= threshold;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.3f%% different (%d px, %d tiles) in %.1f ms",
+                getScore() * 100, differentPixels, changedTiles, getMillis());
+        }
+    }
+
+    /**
+     * Compare a capture with its baseline; pixels differ when any channel differs by more than tolerance.
+     * Where the sizes differ, the area outside the common part counts as different
+     */
+    public static Result compare(BufferedImage baseline, BufferedImage actual, List<Rectangle> ignore, int tolerance) {
+        long start = System.nanoTime();
+        Comparison comparison = new Comparison(pixels(baseline), baseline.getWidth(), baseline.getHeight(),
+            pixels(actual), actual.getWidth(), actual.getHeight(),
+            ignore != null ? ignore : Collections.emptyList(), tolerance);
+        long[] totals = ForkJoinPool.commonPool().invoke(new TileTask(comparison, null, 0, comparison.tileCount()));
+
+        // Baseline area the capture no longer covers
+        long missing = (long) baseline.getWidth() * baseline.getHeight()
+            - (long) Math.min(actual.getWidth(), baseline.getWidth()) * Math.min(actual.getHeight(), baseline.getHeight());
+        return new Result(comparison, totals[0] + missing, totals[1] + missing, (int) totals[2], System.nanoTime() - start);
+    }
+
+    /**
+     * Get the pixels as packed RGB ints; int rasters are used as they are, and the byte rasters
+     * ImageIO decodes PNGs into are packed row by row in parallel
+     */
+    static int[] pixels(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int type = image.getType();
+        if ((type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)
+                && image.getRaster().getDataBuffer() instanceof DataBufferInt
+                && ((DataBufferInt) image.getRaster().getDataBuffer()).getData().length == width * height) {
+            return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        }
+
+        int stride = type == BufferedImage.TYPE_3BYTE_BGR ? 3 : type == BufferedImage.TYPE_4BYTE_ABGR ? 4 : 0;
+        if (stride > 0 && image.getRaster().getDataBuffer() instanceof DataBufferByte
+                && ((DataBufferByte) image.getRaster().getDataBuffer()).getData().length == width * height * stride) {
+            byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+            // Blue, green and red are the last three bytes of each pixel in both layouts
+            int blue = stride - 3;
+            int[] pixels = new int[width * height];
+            IntStream.range(0, height).parallel().forEach(y -> {
+                int in = y * width * stride + blue;
+                int out = y * width;
+                for (int x = 0; x < width; x++, in += stride) {
+                    pixels[out + x] = 0xFF000000 | (data[in + 2] & 0xFF) << 16 | (data[in + 1] & 0xFF) << 8 | (data[in] & 0xFF);
+                }
+            });
+            return pixels;
+        }
+        return image.getRGB(0, 0, width, height, null, 0, width);
+    }
+
+    /**
+     * Inputs shared by all tile tasks
+     */
+    private static class Comparison {
+        final int[] baseline;
+        final int baselineWidth;
+        final int baselineHeight;
+        final int[] actual;
+        final int width;
+        final int height;
+        final List<Rectangle> ignore;
+        final int tolerance;
+        final int tilesAcross;
+
+        Comparison(int[] baseline, int baselineWidth, int baselineHeight, int[] actual, int width, int height,
+                   List<Rectangle> ignore, int tolerance) {
+            this.baseline = baseline;
+            this.baselineWidth = baselineWidth;
+            this.baselineHeight = baselineHeight;
+            this.actual = actual;
+            this.width = width;
+            this.height = height;
+            this.ignore = ignore;
+            this.tolerance = tolerance;
+            this.tilesAcross = (width + TILE - 1) / TILE;
+        }
+
+        int tileCount() {
+            return tilesAcross * ((height + TILE - 1) / TILE);
+        }
+
+        /**
+         * Compare one tile, also drawing it into diff when given; returns {different pixels, compared pixels}
+         */
+        long[] compareTile(int tileIndex, int[] diff) {
+            int x0 = tileIndex % tilesAcross * TILE;
+            int y0 = tileIndex / tilesAcross * TILE;
+            int x1 = Math.min(x0 + TILE, width);
+            int y1 = Math.min(y0 + TILE, height);
+
+            List<Rectangle> tileIgnore = Collections.emptyList();
+            Rectangle tile = new Rectangle(x0, y0, x1 - x0, y1 - y0);
+            for (Rectangle region : ignore) {
+                if (region.intersects(tile)) {
+                    if (tileIgnore.isEmpty()) tileIgnore = new ArrayList<>();
+                    tileIgnore.add(region.intersection(tile));
+                }
+            }
+
+            long different = 0;
+            long compared = 0;
+            for (int y = y0; y < y1; y++) {
+                int row = y * width;
+                int baselineRow = y * baselineWidth;
+                // Columns that exist in the baseline; the rest of the row is different
+                int common = y < baselineHeight ? Math.min(x1, baselineWidth) : x0;
+                int x = x0;
+                while (x < x1) {
+                    // Skip an ignored span covering x, then compare up to the next one
+                    int ignoredUntil = ignoredUntil(tileIgnore, x, y);
+                    if (ignoredUntil > x) {
+                        if (diff != null) {
+                            for (int i = x; i < ignoredUntil; i++) {
+                                diff[row + i] = IGNORED_COLOR;
+                            }
+                        }
+                        x = ignoredUntil;
+                        continue;
+                    }
+                    int spanEnd = nextIgnoredStart(tileIgnore, x, y, x1);
+                    compared += spanEnd - x;
+                    for (; x < spanEnd; x++) {
+                        int pixel = actual[row + x];
+                        boolean differs = x >= common || differs(pixel, baseline[baselineRow + x]);
+                        if (differs) different++;
+                        if (diff != null) diff[row + x] = differs ? DIFF_COLOR : faded(pixel);
+                    }
+                }
+            }
+            return new long[] {different, compared};
+        }
+
+        private boolean differs(int a, int b) {
+            if (a == b) return false;
+            return Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF)) > tolerance
+                || Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF)) > tolerance
+                || Math.abs((a & 0xFF) - (b & 0xFF)) > tolerance;
+        }
+    }
+
+    private static int ignoredUntil(List<Rectangle> regions, int x, int y) {
+        int until = x;
+        for (Rectangle region : regions) {
+            if (y >= region.y && y < region.y + region.height && x >= region.x && x < region.x + region.width) {
+                until = Math.max(until, region.x + region.width);
+            }
+        }
+        return until;
+    }
+
+    private static int nextIgnoredStart(List<Rectangle> regions, int x, int y, int limit) {
+        int next = limit;
+        for (Rectangle region : regions) {
+            if (y >= region.y && y < region.y + region.height && region.x > x) {
+                next = Math.min(next, region.x);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Light grey version of a pixel so red differences stand out
+     */
+    private static int faded(int pixel) {
+        // Integer luma (BT.601 weights out of 256)
+        int grey = (((pixel >> 16) & 0xFF) * 77 + ((pixel >> 8) & 0xFF) * 150 + (pixel & 0xFF) * 29) >> 8;
+        int light = 170 + (grey * 85 >> 8);
+        return 0xFF000000 | (light << 16) | (light << 8) | light;
+    }
+
+    /**
+     * Compares a range of tiles, splitting in half until the range is small; returns
+     * {different pixels, compared pixels, changed tiles}
+     */
+    private static class TileTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Comparison comparison;
+        private final int[] diff;
+        private final int from;
+        private final int to;
+
+        TileTask(Comparison comparison, int[] diff, int from, int to) {
+            this.comparison = comparison;
+            this.diff = diff;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= TILES_PER_TASK) {
+                long[] totals = new long[3];
+                for (int tile = from; tile < to; tile++) {
+                    long[] counts = comparison.compareTile(tile, diff);
+                    totals[0] += counts[0];
+                    totals[1] += counts[1];
+                    if (counts[0] > 0) totals[2]++;
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            TileTask left = new TileTask(comparison, diff, from, middle);
+            left.fork();
+            long[] right = new TileTask(comparison, diff, middle, to).compute();
+            long[] totals = left.join();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += right[i];
+            }
+            return totals;
+        }
+    }
+}
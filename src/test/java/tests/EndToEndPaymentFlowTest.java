@@ -2,10 +2,16 @@ package tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
-import org.testng.annotations.BeforeMethod;
 import pages.HomePage;
 import pages.PaymentPage;
 import utils.BaseTest;
+import utils.ElementProbe;
+import utils.Log;
+import utils.PageContentScanner;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * End-to-End Payment Flow Test
@@ -13,322 +19,323 @@ import utils.BaseTest;
  */
 public class EndToEndPaymentFlowTest extends BaseTest {
 
-    private HomePage homePage;
-    private PaymentPage paymentPage;
+    private HomePage homePage() {
+        return page(HomePage.class);
+    }
+
+    private PaymentPage paymentPage() {
+        return page(PaymentPage.class);
+    }
 
-    @BeforeMethod
-    public void pageSetup() {
-        homePage = new HomePage(driver);
-        paymentPage = new PaymentPage(driver);
+    private Map<PaymentPage.FormField, String> cardDetails(String number, String holder, String expiry, String cvv) {
+        Map<PaymentPage.FormField, String> card = new LinkedHashMap<>();
+        card.put(PaymentPage.FormField.CARD_NUMBER, number);
+        card.put(PaymentPage.FormField.CARD_HOLDER, holder);
+        card.put(PaymentPage.FormField.EXPIRY, expiry);
+        card.put(PaymentPage.FormField.CVV, cvv);
+        return card;
     }
 
     @Test(priority = 1)
     public void testCompletePaymentFlowFromHomePage() throws Exception {
-        System.out.println("=== Starting Complete Payment Flow from Home Page ===");
+        Log.info("=== Starting Complete Payment Flow from Home Page ===");
 
         // Navigate to home page
-        driver.get("https://www.timesprime.com");
-        homePage.waitForPageLoad();
+        getDriver().get("https://www.timesprime.com");
+        homePage().waitForPageLoad();
 
         // Navigate to payment
-        homePage.navigateToPayment();
-        Thread.sleep(3000);
+        homePage().navigateToPayment();
 
         // Verify on payment page
-        String title = paymentPage.getCurrentPageTitle();
-        System.out.println("Payment page title: " + title);
+        String title = paymentPage().getCurrentPageTitle();
+        Log.detail("Payment page title: " + title);
 
         // Check payment methods available
-        Assert.assertTrue(paymentPage.isPaymentMethodsDisplayed(),
+        Assert.assertTrue(paymentPage().isPaymentMethodsDisplayed(),
                 "Payment methods not displayed!");
 
-        System.out.println("=== Complete Payment Flow Test Completed ===");
+        Log.info("=== Complete Payment Flow Test Completed ===");
     }
 
     @Test(priority = 2)
     public void testPaymentPageDirectNavigation() throws Exception {
-        System.out.println("=== Starting Direct Payment Page Navigation Test ===");
+        Log.info("=== Starting Direct Payment Page Navigation Test ===");
 
         // Direct navigation to payment page
-        homePage.navigateToPayment();
-        Thread.sleep(3000);
+        homePage().navigateToPayment();
 
         // Verify payment page
-        String url = paymentPage.getCurrentUrl();
+        String url = paymentPage().getCurrentUrl();
         Assert.assertTrue(url.contains("payment"), "Not on payment page!");
 
         // Verify payment methods
-        Assert.assertTrue(paymentPage.isPaymentMethodsDisplayed(),
+        Assert.assertTrue(paymentPage().isPaymentMethodsDisplayed(),
                 "Payment methods not visible on payment page!");
 
-        System.out.println("=== Direct Payment Page Navigation Test Completed ===");
+        Log.info("=== Direct Payment Page Navigation Test Completed ===");
     }
 
     @Test(priority = 3)
     public void testPaymentFlowWithPageRefresh() throws Exception {
-        System.out.println("=== Starting Payment Flow with Page Refresh Test ===");
+        Log.info("=== Starting Payment Flow with Page Refresh Test ===");
 
-        homePage.navigateToPayment();
-        Thread.sleep(2000);
+        homePage().navigateToPayment();
 
         // Refresh page
-        driver.navigate().refresh();
+        getDriver().navigate().refresh();
         Thread.sleep(2000);
 
         // Verify payment methods still visible
-        Assert.assertTrue(paymentPage.isPaymentMethodsDisplayed(),
+        Assert.assertTrue(paymentPage().isPaymentMethodsDisplayed(),
                 "Payment methods not visible after refresh!");
 
         // Try selecting a payment method
-        paymentPage.selectUPI();
+        paymentPage().selectUPI();
 
         // Refresh again while in flow
-        driver.navigate().refresh();
+        getDriver().navigate().refresh();
         Thread.sleep(2000);
 
-        System.out.println("=== Payment Flow with Page Refresh Test Completed ===");
+        Log.info("=== Payment Flow with Page Refresh Test Completed ===");
     }
 
     @Test(priority = 4)
     public void testPaymentFlowPageValidation() throws Exception {
-        System.out.println("=== Starting Payment Flow Page Validation Test ===");
+        Log.info("=== Starting Payment Flow Page Validation Test ===");
 
-        homePage.navigateToPayment();
-        Thread.sleep(3000);
+        homePage().navigateToPayment();
 
-        // Validate page elements
-        String pageSource = driver.getPageSource();
+        // Validate page elements - all keywords matched in one pass inside the browser
+        Set<String> found = PageContentScanner.scan(getDriver(), PageContentScanner.Scope.SOURCE,
+                "payment", "upi", "card", "bank");
 
         // Check for common payment page elements
-        Assert.assertTrue(pageSource.toLowerCase().contains("payment"),
+        Assert.assertTrue(found.contains("payment"),
                 "Payment keyword not found on page!");
 
-        Assert.assertTrue(pageSource.toLowerCase().contains("upi") ||
-                         pageSource.toLowerCase().contains("card") ||
-                         pageSource.toLowerCase().contains("bank"),
+        Assert.assertTrue(found.contains("upi") ||
+                         found.contains("card") ||
+                         found.contains("bank"),
                 "Payment methods not found on page!");
 
-        System.out.println("=== Payment Flow Page Validation Test Completed ===");
+        Log.info("=== Payment Flow Page Validation Test Completed ===");
     }
 
     @Test(priority = 5)
     public void testMultiplePaymentAttempts() throws Exception {
-        System.out.println("=== Starting Multiple Payment Attempts Test ===");
+        Log.info("=== Starting Multiple Payment Attempts Test ===");
 
         int successCount = 0;
         int failureCount = 0;
 
         for (int i = 1; i <= 5; i++) {
-            System.out.println("\n--- Payment Attempt " + i + " ---");
+            Log.detail("\n--- Payment Attempt " + i + " ---");
 
             try {
-                homePage.navigateToPayment();
-                Thread.sleep(2000);
+                homePage().navigateToPayment();
 
-                Assert.assertTrue(paymentPage.isPaymentMethodsDisplayed(),
+                Assert.assertTrue(paymentPage().isPaymentMethodsDisplayed(),
                         "Payment methods not available!");
 
                 // Try different payment method each time
                 switch (i % 4) {
                     case 0:
-                        paymentPage.selectUPI();
-                        paymentPage.enterUPIId("user" + i + "@upi");
+                        paymentPage().selectUPI();
+                        paymentPage().enterUPIId("user" + i + "@upi");
                         break;
                     case 1:
-                        paymentPage.selectCreditCard();
-                        paymentPage.enterCardNumber("4111111111111111");
-                        paymentPage.enterCardHolderName("USER " + i);
-                        paymentPage.enterExpiry("12/25");
-                        paymentPage.enterCVV("123");
+                        paymentPage().selectCreditCard();
+                        paymentPage().fillForm(cardDetails("4111111111111111", "USER " + i, "12/25", "123"));
                         break;
                     case 2:
-                        paymentPage.selectDebitCard();
-                        paymentPage.enterCardNumber("5555555555554444");
-                        paymentPage.enterCardHolderName("USER " + i);
-                        paymentPage.enterExpiry("06/26");
-                        paymentPage.enterCVV("456");
+                        paymentPage().selectDebitCard();
+                        paymentPage().fillForm(cardDetails("5555555555554444", "USER " + i, "06/26", "456"));
                         break;
                     case 3:
-                        paymentPage.selectNetBanking();
+                        paymentPage().selectNetBanking();
                         break;
                 }
 
                 try {
-                    paymentPage.clickPay();
+                    paymentPage().clickPay();
                 } catch (Exception e) {
-                    paymentPage.clickProceed();
+                    paymentPage().clickProceed();
                 }
 
                 Thread.sleep(3000);
 
-                if (paymentPage.isOTPScreenDisplayed() || 
-                    paymentPage.isPaymentSuccessful() ||
-                    paymentPage.getErrorMessage() != null) {
+                if (paymentPage().isOTPScreenDisplayed() || 
+                    paymentPage().isPaymentSuccessful() ||
+                    paymentPage().getErrorMessage() != null) {
                     successCount++;
-                    System.out.println("Attempt " + i + " successful");
+                    Log.info("Attempt " + i + " successful");
                 } else {
                     failureCount++;
-                    System.out.println("Attempt " + i + " inconclusive");
+                    Log.info("Attempt " + i + " inconclusive");
                 }
             } catch (Exception e) {
                 failureCount++;
-                System.out.println("Attempt " + i + " failed: " + e.getMessage());
+                Log.info("Attempt " + i + " failed: " + e.getMessage());
             }
 
             if (i < 5) {
-                driver.navigate().refresh();
+                getDriver().navigate().refresh();
                 Thread.sleep(1000);
             }
         }
 
-        System.out.println("\n=== Results Summary ===");
-        System.out.println("Successful attempts: " + successCount);
-        System.out.println("Failed attempts: " + failureCount);
+        Log.info("\n=== Results Summary ===");
+        Log.info("Successful attempts: " + successCount);
+        Log.info("Failed attempts: " + failureCount);
 
-        System.out.println("=== Multiple Payment Attempts Test Completed ===");
+        Log.info("=== Multiple Payment Attempts Test Completed ===");
     }
 
     @Test(priority = 6)
     public void testPaymentFlowWithBackNavigation() throws Exception {
-        System.out.println("=== Starting Payment Flow with Back Navigation Test ===");
+        Log.info("=== Starting Payment Flow with Back Navigation Test ===");
 
         // Navigate to home
-        driver.get("https://www.timesprime.com");
-        homePage.waitForPageLoad();
+        getDriver().get("https://www.timesprime.com");
+        homePage().waitForPageLoad();
 
         // Navigate to payment
-        homePage.navigateToPayment();
-        Thread.sleep(3000);
+        homePage().navigateToPayment();
 
         // Select payment method
-        paymentPage.selectUPI();
+        paymentPage().selectUPI();
 
         // Go back
-        driver.navigate().back();
+        getDriver().navigate().back();
         Thread.sleep(2000);
 
         // Should be on payment page still or different page
-        String url = driver.getCurrentUrl();
-        System.out.println("URL after back navigation: " + url);
+        String url = getDriver().getCurrentUrl();
+        Log.detail("URL after back navigation: " + url);
 
         // Navigate forward
-        driver.navigate().forward();
+        getDriver().navigate().forward();
         Thread.sleep(2000);
 
-        System.out.println("=== Payment Flow with Back Navigation Test Completed ===");
+        Log.info("=== Payment Flow with Back Navigation Test Completed ===");
     }
 
     @Test(priority = 7)
     public void testPaymentFlowErrorHandling() throws Exception {
-        System.out.println("=== Starting Payment Flow Error Handling Test ===");
+        Log.info("=== Starting Payment Flow Error Handling Test ===");
 
-        homePage.navigateToPayment();
-        Thread.sleep(3000);
+        homePage().navigateToPayment();
 
         // Try multiple invalid inputs
         try {
-            paymentPage.selectUPI();
-            paymentPage.enterUPIId(""); // Empty UPI
-            paymentPage.clickPay();
+            paymentPage().selectUPI();
+            paymentPage().enterUPIId(""); // Empty UPI
+            paymentPage().clickPay();
             
             Thread.sleep(2000);
-            String errorMsg = paymentPage.getErrorMessage();
+            String errorMsg = paymentPage().getErrorMessage();
             if (errorMsg != null) {
-                System.out.println("Error caught for empty UPI: " + errorMsg);
+                Log.info("Error caught for empty UPI: " + errorMsg);
             }
         } catch (Exception e) {
-            System.out.println("Exception handled: " + e.getMessage());
+            Log.info("Exception handled: " + e.getMessage());
         }
 
-        System.out.println("=== Payment Flow Error Handling Test Completed ===");
+        Log.info("=== Payment Flow Error Handling Test Completed ===");
     }
 
     @Test(priority = 8)
     public void testPaymentFlowConcurrency() throws Exception {
-        System.out.println("=== Starting Payment Flow Concurrency Test ===");
+        Log.info("=== Starting Payment Flow Concurrency Test ===");
 
         // Simulate rapid navigation and selection
         for (int i = 0; i < 10; i++) {
-            System.out.println("Iteration " + (i + 1) + "/10");
+            Log.detail("Iteration " + (i + 1) + "/10");
 
-            homePage.navigateToPayment();
+            homePage().navigateToPayment();
             Thread.sleep(500);
 
             try {
                 switch (i % 2) {
                     case 0:
-                        paymentPage.selectUPI();
+                        paymentPage().selectUPI();
                         break;
                     case 1:
-                        paymentPage.selectCreditCard();
+                        paymentPage().selectCreditCard();
                         break;
                 }
             } catch (Exception e) {
                 // ignore
             }
 
-            driver.navigate().refresh();
+            getDriver().navigate().refresh();
             Thread.sleep(300);
         }
 
-        System.out.println("=== Payment Flow Concurrency Test Completed ===");
+        Log.info("=== Payment Flow Concurrency Test Completed ===");
     }
 
     @Test(priority = 9)
     public void testPaymentFlowWithWait() throws Exception {
-        System.out.println("=== Starting Payment Flow with Extended Wait Test ===");
+        Log.info("=== Starting Payment Flow with Extended Wait Test ===");
 
-        homePage.navigateToPayment();
-        paymentPage.waitForPageLoad();
+        homePage().navigateToPayment();
 
-        Assert.assertTrue(paymentPage.isPaymentMethodsDisplayed(),
+        Assert.assertTrue(paymentPage().isPaymentMethodsDisplayed(),
                 "Payment methods not displayed after wait!");
 
-        paymentPage.selectUPI();
-        paymentPage.waitForPageLoad();
+        paymentPage().selectUPI();
+        paymentPage().waitForPageLoad();
 
-        paymentPage.enterUPIId("test@upi");
+        paymentPage().enterUPIId("test@upi");
 
         try {
-            paymentPage.clickPay();
+            paymentPage().clickPay();
         } catch (Exception e) {
-            paymentPage.clickProceed();
+            paymentPage().clickProceed();
         }
 
-        paymentPage.waitForPageLoad();
+        paymentPage().waitForPageLoad();
 
-        System.out.println("=== Payment Flow with Extended Wait Test Completed ===");
+        Log.info("=== Payment Flow with Extended Wait Test Completed ===");
     }
 
     @Test(priority = 10)
     public void testPaymentFlowComprehensiveValidation() throws Exception {
-        System.out.println("=== Starting Comprehensive Payment Flow Validation Test ===");
+        Log.info("=== Starting Comprehensive Payment Flow Validation Test ===");
 
-        homePage.navigateToPayment();
-        Thread.sleep(3000);
+        homePage().navigateToPayment();
 
-        // Validate multiple conditions
-        Assert.assertTrue(paymentPage.isPaymentMethodsDisplayed(), "Payment methods not visible");
-        Assert.assertNotNull(paymentPage.getCurrentUrl(), "URL is null");
-        Assert.assertNotNull(paymentPage.getCurrentPageTitle(), "Page title is null");
+        // Validate multiple conditions - every method option is probed in a single round trip
+        Map<String, ElementProbe.ProbeResult> methods = paymentPage().getPaymentMethodAvailability();
+        for (Map.Entry<String, ElementProbe.ProbeResult> method : methods.entrySet()) {
+            Log.info((method.getValue().isInteractable() ? "✓ " : "✗ ") + method.getKey()
+                    + ": " + method.getValue());
+        }
+        Assert.assertTrue(methods.get("UPI").isPresent() ||
+                         methods.get("Credit Card").isPresent() ||
+                         methods.get("Debit Card").isPresent(), "Payment methods not visible");
+        Assert.assertNotNull(paymentPage().getCurrentUrl(), "URL is null");
+        Assert.assertNotNull(paymentPage().getCurrentPageTitle(), "Page title is null");
 
-        String pageSource = driver.getPageSource();
-        Assert.assertTrue(pageSource.length() > 0, "Page source is empty");
+        Assert.assertTrue(PageContentScanner.contentLength(getDriver(), PageContentScanner.Scope.SOURCE) > 0,
+                "Page source is empty");
 
         // Test payment method selections
-        paymentPage.selectUPI();
-        Assert.assertTrue(driver.getPageSource().toLowerCase().contains("upi"), "UPI not selected");
+        paymentPage().selectUPI();
+        Assert.assertTrue(PageContentScanner.containsAny(getDriver(), PageContentScanner.Scope.SOURCE, "upi"),
+                "UPI not selected");
 
-        driver.navigate().refresh();
+        getDriver().navigate().refresh();
         Thread.sleep(1000);
 
-        paymentPage.selectCreditCard();
+        paymentPage().selectCreditCard();
         // Verify credit card view
 
-        System.out.println("✓ All payment methods available");
-        System.out.println("✓ Page navigation working");
-        System.out.println("✓ Element interaction functioning");
+        Log.info("✓ Page navigation working");
+        Log.info("✓ Element interaction functioning");
 
-        System.out.println("=== Comprehensive Payment Flow Validation Test Completed ===");
+        Log.info("=== Comprehensive Payment Flow Validation Test Completed ===");
     }
 }
@@ -6,17 +6,18 @@ import pages.HomePage;
 import pages.LoginPage;
 import pages.PaymentPage;
 import utils.BaseTest;
+import utils.Log;
 
 public class PaymentFlowTest extends BaseTest {
 
     @Test
-    public void testTimesPrimePaymentFlow() throws InterruptedException {
+    public void testTimesPrimePaymentFlow() throws Exception {
 
-        driver.get("https://www.timesprime.com");
-        System.out.println("Waiting 3 minutes for page to fully load...");
-        Thread.sleep(180000); // 3 minutes wait
+        getDriver().get("https://www.timesprime.com");
+        HomePage home = new HomePage(getDriver());
+        Log.detail("Waiting for page to become ready...");
+        home.waitForPageLoad();
 
-        HomePage home = new HomePage(driver);
         // attempt to click join/subscribe; it's okay if locator needs tuning for the live page
         try {
             home.clickJoinNow();
@@ -24,7 +25,7 @@ public class PaymentFlowTest extends BaseTest {
             // ignore if not present - continue the flow
         }
 
-        LoginPage login = new LoginPage(driver);
+        LoginPage login = new LoginPage(getDriver());
         login.enterMobile("9999999999");   // Use a valid test number if required
         login.clickContinue();
 
@@ -32,7 +33,7 @@ public class PaymentFlowTest extends BaseTest {
     // Increased sleep to ensure payment/login flow finishes loading
     Thread.sleep(5000);
 
-        PaymentPage payment = new PaymentPage(driver);
+        PaymentPage payment = new PaymentPage(getDriver());
         try {
             payment.selectUPI();
         } catch (Exception e) {